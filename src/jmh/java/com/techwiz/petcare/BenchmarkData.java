@@ -0,0 +1,77 @@
+package com.techwiz.petcare;
+
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.HealthRecord;
+import com.techwiz.petcare.domain.Pet;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
+import com.techwiz.petcare.domain.enumeration.Gender;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic entities shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final Instant EPOCH = Instant.parse("2026-01-01T08:00:00Z");
+
+    private BenchmarkData() {}
+
+    public static List<Appointment> appointments(int size) {
+        List<Appointment> appointments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            appointments.add(
+                new Appointment()
+                    .id(i)
+                    .petId(i % 97)
+                    .ownerId(i % 31)
+                    .vetId(i % 7)
+                    .apptTime(ZonedDateTime.ofInstant(EPOCH.plus(i * 30, ChronoUnit.MINUTES), ZoneOffset.UTC))
+                    .status(ApptStatus.values()[(int) (i % ApptStatus.values().length)])
+                    .createdAt(EPOCH.minus(i, ChronoUnit.HOURS))
+            );
+        }
+        return appointments;
+    }
+
+    public static List<Pet> pets(int size) {
+        List<Pet> pets = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            pets.add(
+                new Pet()
+                    .id(i)
+                    .ownerId(i % 31)
+                    .name("Pet " + i)
+                    .species(i % 2 == 0 ? "Dog" : "Cat")
+                    .breed("Breed " + (i % 13))
+                    .age((int) (i % 15))
+                    .gender(Gender.values()[(int) (i % Gender.values().length)])
+                    .photoUrl("https://example.com/pets/" + i + ".jpg")
+                    .createdAt(EPOCH.minus(i, ChronoUnit.HOURS))
+            );
+        }
+        return pets;
+    }
+
+    public static List<HealthRecord> healthRecords(int size) {
+        List<HealthRecord> healthRecords = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            healthRecords.add(
+                new HealthRecord()
+                    .id(i)
+                    .petId(i % 97)
+                    .vetId(i % 7)
+                    .apptId(i)
+                    .diagnosis("Diagnosis " + i)
+                    .treatment("Treatment " + i)
+                    .notes("Follow-up in " + (i % 30) + " days")
+                    .createdAt(EPOCH.minus(i, ChronoUnit.HOURS))
+            );
+        }
+        return healthRecords;
+    }
+}
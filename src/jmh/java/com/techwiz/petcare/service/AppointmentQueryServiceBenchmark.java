@@ -0,0 +1,79 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
+import com.techwiz.petcare.service.criteria.AppointmentCriteria;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Benchmarks of the construction of the {@link Specification} built from an {@link AppointmentCriteria}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AppointmentQueryServiceBenchmark {
+
+    private final AppointmentQueryService appointmentQueryService = new AppointmentQueryService(null, null);
+
+    private AppointmentCriteria emptyCriteria;
+
+    private AppointmentCriteria vetDayCriteria;
+
+    private AppointmentCriteria fullCriteria;
+
+    @Setup
+    public void setUp() {
+        ZonedDateTime day = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        emptyCriteria = new AppointmentCriteria();
+
+        vetDayCriteria = new AppointmentCriteria();
+        vetDayCriteria.vetId().setEquals(3L);
+        vetDayCriteria.apptTime().setGreaterThanOrEqual(day);
+        vetDayCriteria.apptTime().setLessThan(day.plusDays(1));
+
+        fullCriteria = new AppointmentCriteria();
+        fullCriteria.id().setGreaterThan(100L);
+        fullCriteria.petId().setIn(List.of(1L, 2L, 3L));
+        fullCriteria.ownerId().setEquals(7L);
+        fullCriteria.vetId().setEquals(3L);
+        fullCriteria.apptTime().setGreaterThanOrEqual(day);
+        fullCriteria.apptTime().setLessThan(day.plusDays(7));
+        fullCriteria.status().setNotIn(List.of(ApptStatus.CANCELLED));
+        fullCriteria.createdAt().setLessThan(Instant.parse("2026-01-01T00:00:00Z"));
+        fullCriteria.setDistinct(true);
+    }
+
+    @Benchmark
+    public Specification<Appointment> emptyCriteria() {
+        return appointmentQueryService.createSpecification(emptyCriteria);
+    }
+
+    @Benchmark
+    public Specification<Appointment> vetDayCriteria() {
+        return appointmentQueryService.createSpecification(vetDayCriteria);
+    }
+
+    @Benchmark
+    public Specification<Appointment> fullCriteria() {
+        return appointmentQueryService.createSpecification(fullCriteria);
+    }
+}
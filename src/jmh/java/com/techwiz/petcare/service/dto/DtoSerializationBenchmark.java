@@ -0,0 +1,74 @@
+package com.techwiz.petcare.service.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.techwiz.petcare.BenchmarkData;
+import com.techwiz.petcare.config.JacksonConfiguration;
+import com.techwiz.petcare.service.mapper.AppointmentMapperImpl;
+import com.techwiz.petcare.service.mapper.HealthRecordMapperImpl;
+import com.techwiz.petcare.service.mapper.PetMapperImpl;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of the Jackson serialization of a page of DTOs, as returned by the entity resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DtoSerializationBenchmark {
+
+    @Param({ "20", "100" })
+    private int size;
+
+    private ObjectWriter writer;
+
+    private List<AppointmentDTO> appointments;
+
+    private List<PetDTO> pets;
+
+    private List<HealthRecordDTO> healthRecords;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule(), jacksonConfiguration.hibernate6Module())
+            .build();
+        writer = objectMapper.writer();
+        appointments = new AppointmentMapperImpl().toDto(BenchmarkData.appointments(size));
+        pets = new PetMapperImpl().toDto(BenchmarkData.pets(size));
+        healthRecords = new HealthRecordMapperImpl().toDto(BenchmarkData.healthRecords(size));
+    }
+
+    @Benchmark
+    public byte[] appointmentPage() throws IOException {
+        return writer.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] petPage() throws IOException {
+        return writer.writeValueAsBytes(pets);
+    }
+
+    @Benchmark
+    public byte[] healthRecordPage() throws IOException {
+        return writer.writeValueAsBytes(healthRecords);
+    }
+}
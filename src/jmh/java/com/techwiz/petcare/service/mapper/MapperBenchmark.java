@@ -0,0 +1,95 @@
+package com.techwiz.petcare.service.mapper;
+
+import com.techwiz.petcare.BenchmarkData;
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.HealthRecord;
+import com.techwiz.petcare.domain.Pet;
+import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.service.dto.HealthRecordDTO;
+import com.techwiz.petcare.service.dto.PetDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the MapStruct list conversions used by the entity services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({ "20", "1000" })
+    private int size;
+
+    private final AppointmentMapper appointmentMapper = new AppointmentMapperImpl();
+
+    private final PetMapper petMapper = new PetMapperImpl();
+
+    private final HealthRecordMapper healthRecordMapper = new HealthRecordMapperImpl();
+
+    private List<Appointment> appointments;
+
+    private List<AppointmentDTO> appointmentDTOs;
+
+    private List<Pet> pets;
+
+    private List<PetDTO> petDTOs;
+
+    private List<HealthRecord> healthRecords;
+
+    private List<HealthRecordDTO> healthRecordDTOs;
+
+    @Setup
+    public void setUp() {
+        appointments = BenchmarkData.appointments(size);
+        appointmentDTOs = appointmentMapper.toDto(appointments);
+        pets = BenchmarkData.pets(size);
+        petDTOs = petMapper.toDto(pets);
+        healthRecords = BenchmarkData.healthRecords(size);
+        healthRecordDTOs = healthRecordMapper.toDto(healthRecords);
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> appointmentToDto() {
+        return appointmentMapper.toDto(appointments);
+    }
+
+    @Benchmark
+    public List<Appointment> appointmentToEntity() {
+        return appointmentMapper.toEntity(appointmentDTOs);
+    }
+
+    @Benchmark
+    public List<PetDTO> petToDto() {
+        return petMapper.toDto(pets);
+    }
+
+    @Benchmark
+    public List<Pet> petToEntity() {
+        return petMapper.toEntity(petDTOs);
+    }
+
+    @Benchmark
+    public List<HealthRecordDTO> healthRecordToDto() {
+        return healthRecordMapper.toDto(healthRecords);
+    }
+
+    @Benchmark
+    public List<HealthRecord> healthRecordToEntity() {
+        return healthRecordMapper.toEntity(healthRecordDTOs);
+    }
+}
@@ -0,0 +1,87 @@
+package com.techwiz.petcare.web.rest;
+
+import com.techwiz.petcare.config.ApplicationProperties;
+import com.techwiz.petcare.config.SecurityJwtConfiguration;
+import com.techwiz.petcare.management.SecurityMetersService;
+import com.techwiz.petcare.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Benchmarks of the JWT creation of {@link AuthenticateController} and of the decoder of {@link SecurityJwtConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    // the secret of src/main/resources/config/application-dev.yml
+    private static final String JWT_KEY =
+        "Y2NhN2ZhZTQ4MzBiZTExNDA5NjY0NzRlNWU2MGM4NWIzM2ZkOTBkNGYyODgwOTY4NDZiOTcyM2IwYWI2YTJlODBlY2M1N2IwMTY0YzUyYzEzYTVmZTAwZmQyMTYyNDc1NzNiMjA1MzFhODIwZjc5MTRiNTU2YTc2ZGNkNDQ1M2U=";
+
+    private AuthenticateController authenticateController;
+
+    private JwtDecoder jwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SecurityJwtConfiguration securityJwtConfiguration = new SecurityJwtConfiguration();
+        ReflectionTestUtils.setField(securityJwtConfiguration, "jwtKey", JWT_KEY);
+        SecurityMetersService metersService = new SecurityMetersService(new SimpleMeterRegistry());
+        ApplicationProperties uncachedProperties = new ApplicationProperties();
+        uncachedProperties.getSecurity().getTokenCache().setMaxSize(0);
+        jwtDecoder = securityJwtConfiguration.jwtDecoder(metersService, uncachedProperties);
+        cachingJwtDecoder = securityJwtConfiguration.jwtDecoder(metersService, new ApplicationProperties());
+
+        authenticateController = new AuthenticateController(securityJwtConfiguration.jwtEncoder(), null, null);
+        ReflectionTestUtils.setField(authenticateController, "tokenValidityInSeconds", 86400L);
+
+        authentication = new UsernamePasswordAuthenticationToken(
+            "user",
+            "user",
+            List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))
+        );
+        token = authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return authenticateController.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCachedToken() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
@@ -0,0 +1,137 @@
+package com.techwiz.petcare.aop.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * <p>
+ * Bucket {@code i} counts the durations in {@code [2^(i-1), 2^i)} nanoseconds, so recording a value is a few atomic
+ * increments and never allocates. Percentiles are approximated by the upper bound of their bucket.
+ * <p>
+ * The count and total time are cumulative, but the buckets and the maximum decay: they are kept in a ring of windows,
+ * each recording for a third of the expiry, and the oldest window is cleared when the ring rotates. Percentiles and the
+ * maximum therefore describe the last two to three thirds of the expiry rather than the life of the process.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private static final int WINDOWS = 3;
+
+    private final Window[] windows = new Window[WINDOWS];
+
+    private final long rotationNanos;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private volatile int current;
+
+    private volatile long nextRotation;
+
+    LatencyHistogram(Duration expiry) {
+        for (int i = 0; i < WINDOWS; i++) {
+            windows[i] = new Window();
+        }
+        this.rotationNanos = Math.max(expiry.toNanos() / WINDOWS, 1);
+        this.nextRotation = System.nanoTime() + rotationNanos;
+    }
+
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        rotate();
+        Window window = windows[current];
+        window.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+        window.maxNanos.accumulate(value);
+        count.increment();
+        totalNanos.add(value);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    double totalNanos() {
+        return totalNanos.sum();
+    }
+
+    double maxNanos() {
+        rotate();
+        long max = 0;
+        for (Window window : windows) {
+            max = Math.max(max, window.maxNanos.get());
+        }
+        return max;
+    }
+
+    /**
+     * Approximate the duration below which the given fraction of the recent calls completed.
+     *
+     * @param percentile the fraction, between {@code 0} and {@code 1}.
+     * @return the upper bound of the bucket holding the percentile, in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    double valueAtPercentile(double percentile) {
+        rotate();
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (Window window : windows) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucket = window.buckets.get(i);
+                counts[i] += bucket;
+                count += bucket;
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return Math.min(Math.pow(2, i), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    private void rotate() {
+        if (System.nanoTime() - nextRotation < 0) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            long elapsed = now - nextRotation;
+            if (elapsed < 0) {
+                return;
+            }
+            // after a long idle period, every window is cleared
+            long rotations = elapsed / rotationNanos + 1;
+            int index = current;
+            for (long i = 0; i < Math.min(rotations, WINDOWS); i++) {
+                index = (index + 1) % WINDOWS;
+                windows[index].reset();
+            }
+            current = index;
+            nextRotation += rotations * rotationNanos;
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        private void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            maxNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.techwiz.petcare.aop.logging;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aspect timing the execution of service and repository Spring components, for the profiles where {@link LoggingAspect}
+ * is too expensive.
+ * <p>
+ * Every call is recorded in a per-method {@link LatencyHistogram} published as the {@value #METER_NAME} meters, whose
+ * percentiles and maximum decay over the histogram expiry. Only calls slower than the slow call threshold, and a random
+ * sample of the other calls, are logged; their arguments are only rendered when the log statement is actually written.
+ */
+@Aspect
+public class SampledLoggingAspect {
+
+    public static final String METER_NAME = "application.method.timings";
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final MeterRegistry meterRegistry;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final Duration histogramExpiry;
+
+    private final Map<Method, MethodTimings> timingsByMethod = new ConcurrentHashMap<>();
+
+    public SampledLoggingAspect(MeterRegistry meterRegistry, double sampleRate, Duration slowThreshold, Duration histogramExpiry) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.histogramExpiry = histogramExpiry;
+    }
+
+    /**
+     * Advice that times a method and logs it if it is slow or sampled.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable throws {@link IllegalArgumentException}.
+     */
+    @Around(
+        "com.techwiz.petcare.aop.logging.LoggingAspect.applicationPackagePointcut()" +
+        " && com.techwiz.petcare.aop.logging.LoggingAspect.springBeanPointcut()"
+    )
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (IllegalArgumentException e) {
+            timings(joinPoint).log.error("Illegal argument: {} in {}()", new Arguments(joinPoint), joinPoint.getSignature().getName());
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            MethodTimings timings = timings(joinPoint);
+            timings.histogram.record(elapsed);
+            if (elapsed >= slowThresholdNanos) {
+                if (timings.log.isWarnEnabled()) {
+                    timings.log.warn(
+                        "Slow call: {}() took {} ms with argument[s] = {}",
+                        joinPoint.getSignature().getName(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed),
+                        new Arguments(joinPoint)
+                    );
+                }
+            } else if (sampleRate > 0 && timings.log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                timings.log.info(
+                    "Sampled call: {}() took {} ms with argument[s] = {}",
+                    joinPoint.getSignature().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    new Arguments(joinPoint)
+                );
+            }
+        }
+    }
+
+    private MethodTimings timings(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimings timings = timingsByMethod.get(method);
+        if (timings == null) {
+            timings = timingsByMethod.computeIfAbsent(method, key -> register(joinPoint));
+        }
+        return timings;
+    }
+
+    private MethodTimings register(ProceedingJoinPoint joinPoint) {
+        String className = joinPoint.getSignature().getDeclaringTypeName();
+        String methodName = joinPoint.getSignature().getName();
+        LatencyHistogram histogram = new LatencyHistogram(histogramExpiry);
+        FunctionTimer.builder(METER_NAME, histogram, LatencyHistogram::count, LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+            .description("Execution time of the application methods")
+            .tags("class", className, "method", methodName)
+            .register(meterRegistry);
+        Gauge.builder(METER_NAME + ".max", histogram, h -> h.maxNanos() / 1_000_000)
+            .baseUnit("milliseconds")
+            .tags("class", className, "method", methodName)
+            .register(meterRegistry);
+        for (double percentile : PERCENTILES) {
+            Gauge.builder(METER_NAME + ".percentile", histogram, h -> h.valueAtPercentile(percentile) / 1_000_000)
+                .baseUnit("milliseconds")
+                .tags("class", className, "method", methodName, "phi", String.valueOf(percentile))
+                .register(meterRegistry);
+        }
+        return new MethodTimings(LoggerFactory.getLogger(className), histogram);
+    }
+
+    private record MethodTimings(Logger log, LatencyHistogram histogram) {}
+
+    /**
+     * Arguments of a join point, only rendered when a log statement formats them.
+     */
+    private record Arguments(ProceedingJoinPoint joinPoint) {
+        @Override
+        public String toString() {
+            return Arrays.toString(joinPoint.getArgs());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.techwiz.petcare.aop.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose queries may be served by a read replica, when replicas are configured.
+ * <p>
+ * Only reads that tolerate rows lagging slightly behind the primary, and whose results are returned to the client rather
+ * than cached or used to decide a write, should be marked.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReplicaRead {}
@@ -0,0 +1,80 @@
+package com.techwiz.petcare.aop.replica;
+
+import com.techwiz.petcare.config.ReplicaRoutingDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.UndeclaredThrowableException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Aspect running the {@link ReplicaRead} methods on a read replica.
+ * <p>
+ * The method gets its own read-only transaction, whose session reads the second-level and query caches but does not put
+ * anything in them, so that rows lagging behind the primary are never cached. A method called within a transaction
+ * already started joins it and stays on the data source of that transaction. The aspect is ordered before the
+ * transaction interceptor, so that the transaction of the method itself joins the one started here.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ReplicaReadAspect {
+
+    private final ReplicaRoutingDataSource dataSource;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReplicaReadAspect(
+        ReplicaRoutingDataSource dataSource,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Advice that runs a method in a read-only transaction served by a replica.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception thrown by the method.
+     */
+    @Around("@annotation(com.techwiz.petcare.aop.replica.ReplicaRead)")
+    public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return dataSource.readFromReplica(() ->
+                transactionTemplate.execute(status -> {
+                    EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+                    if (entityManager != null) {
+                        entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+                    }
+                    try {
+                        return joinPoint.proceed();
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new UndeclaredThrowableException(e);
+                    }
+                })
+            );
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+}
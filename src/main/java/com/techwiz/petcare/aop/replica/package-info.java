@@ -0,0 +1,4 @@
+/**
+ * Replica read aspect.
+ */
+package com.techwiz.petcare.aop.replica;
@@ -0,0 +1,21 @@
+package com.techwiz.petcare.cache;
+
+/**
+ * An eviction to apply on the other nodes of the cluster.
+ *
+ * @param type the kind of cache holding the entry.
+ * @param region the entity name for {@link Type#ENTITY}, the cache name for {@link Type#SPRING_CACHE}.
+ * @param key the entity id or cache key, or {@code null} to clear the whole region.
+ */
+public record CacheInvalidation(Type type, String region, String key) {
+    public enum Type {
+        /**
+         * An entity of the Hibernate second-level cache, along with its cached collections and the cached queries.
+         */
+        ENTITY,
+        /**
+         * An entry of a Spring cache, such as {@code UserRepository.USERS_BY_LOGIN_CACHE}.
+         */
+        SPRING_CACHE,
+    }
+}
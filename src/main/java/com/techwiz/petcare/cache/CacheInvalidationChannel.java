@@ -0,0 +1,25 @@
+package com.techwiz.petcare.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport of the {@link CacheInvalidation}s between the nodes of a cluster.
+ * <p>
+ * Implementations deliver each published invalidation to the listeners of every other node, and never to the node that
+ * published it. Delivery is best effort: a lost invalidation leaves an entry stale until it expires.
+ */
+public interface CacheInvalidationChannel {
+    /**
+     * Send an invalidation to the other nodes.
+     *
+     * @param invalidation the invalidation.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register the listener of the invalidations sent by the other nodes.
+     *
+     * @param listener the listener.
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,230 @@
+package com.techwiz.petcare.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the caches of the nodes of a cluster consistent, through the configured {@link CacheInvalidationChannel}.
+ * <p>
+ * Committed inserts, updates and deletes of cached entities are broadcast automatically. Evictions from Spring caches,
+ * such as the user caches, must be broadcast with {@link #broadcastCacheEviction(String, Object)}. In-memory projections of
+ * entities follow the changes made on the other nodes with {@link #onRemoteEntityEviction(Class, Consumer)}. Without a
+ * channel, this service does nothing.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final CacheInvalidationChannel channel;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final Map<String, List<Consumer<Long>>> entityEvictionListeners = new ConcurrentHashMap<>();
+
+    public CacheInvalidationService(
+        ObjectProvider<CacheInvalidationChannel> channel,
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager
+    ) {
+        this.channel = channel.getIfAvailable();
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        if (this.channel != null) {
+            EntityChangeListener listener = new EntityChangeListener();
+            EventListenerRegistry eventListenerRegistry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            eventListenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+            eventListenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+            this.channel.subscribe(this::apply);
+            LOG.info("Cache invalidations are exchanged through {}", this.channel.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Evict an entity from the second-level cache of the other nodes, once the current transaction commits.
+     *
+     * @param entityClass the class of the entity.
+     * @param id the id of the entity.
+     */
+    public void broadcastEntityEviction(Class<?> entityClass, Object id) {
+        if (id != null) {
+            broadcast(new CacheInvalidation(CacheInvalidation.Type.ENTITY, entityClass.getName(), String.valueOf(id)));
+        }
+    }
+
+    /**
+     * Evict an entry from a Spring cache of the other nodes, once the current transaction commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key of the entry.
+     */
+    public void broadcastCacheEviction(String cacheName, Object key) {
+        if (key != null) {
+            broadcast(new CacheInvalidation(CacheInvalidation.Type.SPRING_CACHE, cacheName, String.valueOf(key)));
+        }
+    }
+
+    /**
+     * Register a listener of the changes of an entity committed by the other nodes, called once the entity is evicted from
+     * the second-level cache of this node so that it can be reloaded from the database.
+     *
+     * @param entityClass the class of the entity.
+     * @param listener the listener, called with the id of the changed entity, or {@code null} when all of them may have changed.
+     */
+    public void onRemoteEntityEviction(Class<?> entityClass, Consumer<Long> listener) {
+        entityEvictionListeners.computeIfAbsent(entityClass.getName(), name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private void broadcast(CacheInvalidation invalidation) {
+        if (channel == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        channel.publish(invalidation);
+                    }
+                }
+            );
+        } else {
+            channel.publish(invalidation);
+        }
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        LOG.debug("Applying cache invalidation from another node: {}", invalidation);
+        switch (invalidation.type()) {
+            case ENTITY -> evictEntity(invalidation.region(), invalidation.key());
+            case SPRING_CACHE -> {
+                org.springframework.cache.Cache cache = cacheManager.getCache(invalidation.region());
+                if (cache == null) {
+                    return;
+                }
+                if (invalidation.key() == null) {
+                    cache.invalidate();
+                } else {
+                    cache.evictIfPresent(invalidation.key());
+                }
+            }
+        }
+    }
+
+    private void evictEntity(String entityName, String key) {
+        CacheImplementor cache = sessionFactory.getCache();
+        // all the entities of this application have Long ids
+        Long id = key != null ? Long.valueOf(key) : null;
+        if (id == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, id);
+        }
+        Set<String> querySpaces = new LinkedHashSet<>();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister != null) {
+            Collections.addAll(querySpaces, persister.getPropertySpaces());
+        }
+        sessionFactory
+            .getMappingMetamodel()
+            .forEachCollectionDescriptor(collection -> {
+                if (Objects.equals(collection.getOwnerEntityPersister().getEntityName(), entityName)) {
+                    Collections.addAll(querySpaces, collection.getCollectionSpaces());
+                    if (!collection.hasCache()) {
+                        return;
+                    }
+                    if (id == null) {
+                        cache.evictCollectionData(collection.getRole());
+                    } else {
+                        cache.evictCollectionData(collection.getRole(), id);
+                    }
+                }
+            });
+        // the update timestamps of the other node are not shared: the tables of the entity are marked as updated here, so
+        // that the cached query results over them are stale while the others stay cached
+        if (!querySpaces.isEmpty()) {
+            try (SessionImplementor session = sessionFactory.openTemporarySession()) {
+                cache.getTimestampsCache().invalidate(querySpaces.toArray(String[]::new), session);
+            }
+        }
+        for (Consumer<Long> listener : entityEvictionListeners.getOrDefault(entityName, List.of())) {
+            try {
+                listener.accept(id);
+            } catch (RuntimeException e) {
+                LOG.warn("Could not apply the eviction of {} {}: {}", entityName, id, e.getMessage());
+            }
+        }
+    }
+
+    private class EntityChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publish(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // nothing was committed, the other nodes are not affected
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // nothing was committed, the other nodes are not affected
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // nothing was committed, the other nodes are not affected
+        }
+
+        private void publish(EntityPersister persister, Object id) {
+            channel.publish(new CacheInvalidation(CacheInvalidation.Type.ENTITY, persister.getEntityName(), String.valueOf(id)));
+        }
+    }
+}
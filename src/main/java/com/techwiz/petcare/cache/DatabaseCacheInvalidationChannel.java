@@ -0,0 +1,148 @@
+package com.techwiz.petcare.cache;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CacheInvalidationChannel} exchanging the invalidations through the {@code cache_invalidation} table.
+ * <p>
+ * Published invalidations are queued and written in a batch by the poller, which then reads the rows written by the other
+ * nodes since its previous run. As rows can become visible out of id order, each poll looks back a few intervals and skips
+ * the rows it already applied. Rows older than the retention period are deleted.
+ * <p>
+ * All the times are taken from the database clock, both when writing and when reading the rows, so that the clocks of
+ * the nodes do not need to agree.
+ */
+public class DatabaseCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatabaseCacheInvalidationChannel.class);
+
+    private static final Duration MIN_LOOKBACK = Duration.ofSeconds(10);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TaskScheduler taskScheduler;
+
+    private final Duration pollInterval;
+
+    private final Duration retention;
+
+    private final Duration lookback;
+
+    private final Queue<CacheInvalidation> pending = new ConcurrentLinkedQueue<>();
+
+    private final Map<Long, Instant> applied = new ConcurrentHashMap<>();
+
+    private volatile Consumer<CacheInvalidation> listener = invalidation -> {};
+
+    private Instant lastPoll;
+
+    private Instant lastCleanup;
+
+    public DatabaseCacheInvalidationChannel(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        TaskScheduler taskScheduler,
+        Duration pollInterval,
+        Duration retention
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        Duration threeIntervals = pollInterval.multipliedBy(3);
+        this.lookback = threeIntervals.compareTo(MIN_LOOKBACK) > 0 ? threeIntervals : MIN_LOOKBACK;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        pending.add(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        this.listener = listener;
+        taskScheduler.scheduleWithFixedDelay(this::poll, pollInterval);
+    }
+
+    private void poll() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Instant now = jdbcTemplate.queryForObject("select current_timestamp(6)", Timestamp.class).toInstant();
+                write();
+                read(now);
+                cleanup(now);
+            });
+        } catch (DataAccessException e) {
+            LOG.warn("Could not exchange cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void write() {
+        List<Object[]> rows = new ArrayList<>();
+        CacheInvalidation invalidation;
+        while ((invalidation = pending.poll()) != null) {
+            rows.add(new Object[] { nodeId, invalidation.type().name(), invalidation.region(), invalidation.key() });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "insert into cache_invalidation (node_id, type, region, cache_key, created_at) values (?, ?, ?, ?, current_timestamp(6))",
+                rows
+            );
+        }
+    }
+
+    private void read(Instant now) {
+        // on the first poll, only the rows written since this node started matter
+        Instant since = (lastPoll != null ? lastPoll : now).minus(lookback);
+        jdbcTemplate.query(
+            "select id, type, region, cache_key from cache_invalidation where created_at >= ? and node_id <> ?",
+            rs -> {
+                if (applied.putIfAbsent(rs.getLong("id"), now) == null) {
+                    listener.accept(
+                        new CacheInvalidation(
+                            CacheInvalidation.Type.valueOf(rs.getString("type")),
+                            rs.getString("region"),
+                            rs.getString("cache_key")
+                        )
+                    );
+                }
+            },
+            Timestamp.from(since),
+            nodeId
+        );
+        lastPoll = now;
+        applied.values().removeIf(appliedAt -> appliedAt.isBefore(since));
+    }
+
+    private void cleanup(Instant now) {
+        if (lastCleanup == null) {
+            lastCleanup = now;
+        }
+        if (lastCleanup.plus(lookback).isAfter(now)) {
+            return;
+        }
+        jdbcTemplate.update("delete from cache_invalidation where created_at < ?", Timestamp.from(now.minus(retention)));
+        lastCleanup = now;
+    }
+}
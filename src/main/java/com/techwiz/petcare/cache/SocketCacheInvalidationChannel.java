@@ -0,0 +1,98 @@
+package com.techwiz.petcare.cache;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * {@link CacheInvalidationChannel} sending each invalidation as a UDP datagram to a static list of peers.
+ * <p>
+ * Meant for a few nodes on a trusted network, or several instances on the same host: there is no retry, so an invalidation
+ * lost on the network leaves the entry stale until it expires.
+ */
+public class SocketCacheInvalidationChannel implements CacheInvalidationChannel, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SocketCacheInvalidationChannel.class);
+
+    private static final char SEPARATOR = '\n';
+
+    private static final int MAX_DATAGRAM_SIZE = 8192;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final DatagramSocket socket;
+
+    private final List<InetSocketAddress> peers;
+
+    public SocketCacheInvalidationChannel(int port, List<InetSocketAddress> peers) throws SocketException {
+        this.socket = new DatagramSocket(port);
+        this.peers = List.copyOf(peers);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        byte[] message = encode(invalidation);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(message, message.length, peer));
+            } catch (IOException e) {
+                LOG.warn("Could not send cache invalidation to {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        Thread receiver = new Thread(() -> receive(listener), "cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void destroy() {
+        socket.close();
+    }
+
+    private void receive(Consumer<CacheInvalidation> listener) {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                String[] fields = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8).split(
+                    String.valueOf(SEPARATOR),
+                    -1
+                );
+                if (fields.length != 4) {
+                    LOG.warn("Ignoring malformed cache invalidation from {}", packet.getSocketAddress());
+                } else if (!nodeId.equals(fields[0])) {
+                    listener.accept(
+                        new CacheInvalidation(CacheInvalidation.Type.valueOf(fields[1]), fields[2], fields[3].isEmpty() ? null : fields[3])
+                    );
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    LOG.warn("Could not receive cache invalidation: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                LOG.warn("Could not apply cache invalidation from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+
+    private byte[] encode(CacheInvalidation invalidation) {
+        String key = invalidation.key() != null ? invalidation.key() : "";
+        return (nodeId + SEPARATOR + invalidation.type().name() + SEPARATOR + invalidation.region() + SEPARATOR + key).getBytes(
+                StandardCharsets.UTF_8
+            );
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Cache invalidation across the nodes of a cluster.
+ */
+package com.techwiz.petcare.cache;
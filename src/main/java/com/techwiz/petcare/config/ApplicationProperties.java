@@ -1,5 +1,12 @@
 package com.techwiz.petcare.config;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +20,48 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Appointment appointment = new Appointment();
+
+    private final Security security = new Security();
+
+    private final Tracing tracing = new Tracing();
+
+    private final Cache cache = new Cache();
+
+    private final Mail mail = new Mail();
+
+    private final Datasource datasource = new Datasource();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +76,610 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Appointment {
+
+        /**
+         * Length of a booking slot: two appointments of the same vet conflict when they start less than this apart.
+         */
+        private Duration slotDuration = Duration.ofMinutes(30);
+
+        /**
+         * Maximum number of appointments accepted by a single bulk creation request.
+         */
+        private int bulkMaxSize = 1000;
+
+        /**
+         * Time zone in which the days of the vet schedules start and end.
+         */
+        private ZoneId scheduleTimeZone = ZoneOffset.UTC;
+
+        /**
+         * How far before or after today the vet schedules can be requested.
+         */
+        private Duration scheduleHorizon = Duration.ofDays(366);
+
+        /**
+         * Maximum number of vet days kept in memory, the least recently read ones are dropped beyond it.
+         */
+        private int scheduleMaxDays = 10000;
+
+        public Duration getSlotDuration() {
+            return slotDuration;
+        }
+
+        public void setSlotDuration(Duration slotDuration) {
+            this.slotDuration = slotDuration;
+        }
+
+        public int getBulkMaxSize() {
+            return bulkMaxSize;
+        }
+
+        public void setBulkMaxSize(int bulkMaxSize) {
+            this.bulkMaxSize = bulkMaxSize;
+        }
+
+        public ZoneId getScheduleTimeZone() {
+            return scheduleTimeZone;
+        }
+
+        public void setScheduleTimeZone(ZoneId scheduleTimeZone) {
+            this.scheduleTimeZone = scheduleTimeZone;
+        }
+
+        public Duration getScheduleHorizon() {
+            return scheduleHorizon;
+        }
+
+        public void setScheduleHorizon(Duration scheduleHorizon) {
+            this.scheduleHorizon = scheduleHorizon;
+        }
+
+        public int getScheduleMaxDays() {
+            return scheduleMaxDays;
+        }
+
+        public void setScheduleMaxDays(int scheduleMaxDays) {
+            this.scheduleMaxDays = scheduleMaxDays;
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final Login login = new Login();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public Login getLogin() {
+            return login;
+        }
+
+        public static class TokenCache {
+
+            /**
+             * Maximum number of decoded JWTs kept in memory, {@code 0} disables the cache.
+             */
+            private int maxSize = 10000;
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+        }
+
+        public static class Login {
+
+            /**
+             * Number of threads verifying the passwords of the logins, {@code 0} for one per available processor.
+             */
+            private int threads = 0;
+
+            /**
+             * Maximum number of logins waiting for a verification thread, further logins are rejected with a {@code 503}.
+             */
+            private int queueCapacity = 200;
+
+            /**
+             * Period over which the failed logins are counted.
+             */
+            private Duration failureWindow = Duration.ofMinutes(5);
+
+            /**
+             * Failed logins of one login over the failure window after which its logins are rejected with a {@code 429}.
+             */
+            private int maxFailuresPerLogin = 10;
+
+            /**
+             * Failed logins from one client IP over the failure window after which its logins are rejected with a {@code 429}.
+             */
+            private int maxFailuresPerIp = 50;
+
+            /**
+             * Maximum number of logins and client IPs whose failures are counted.
+             */
+            private int maxTrackedKeys = 100000;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getFailureWindow() {
+                return failureWindow;
+            }
+
+            public void setFailureWindow(Duration failureWindow) {
+                this.failureWindow = failureWindow;
+            }
+
+            public int getMaxFailuresPerLogin() {
+                return maxFailuresPerLogin;
+            }
+
+            public void setMaxFailuresPerLogin(int maxFailuresPerLogin) {
+                this.maxFailuresPerLogin = maxFailuresPerLogin;
+            }
+
+            public int getMaxFailuresPerIp() {
+                return maxFailuresPerIp;
+            }
+
+            public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+                this.maxFailuresPerIp = maxFailuresPerIp;
+            }
+
+            public int getMaxTrackedKeys() {
+                return maxTrackedKeys;
+            }
+
+            public void setMaxTrackedKeys(int maxTrackedKeys) {
+                this.maxTrackedKeys = maxTrackedKeys;
+            }
+        }
+    }
+
+    public static class Tracing {
+
+        /**
+         * Time the repositories, services and REST endpoints with the sampled logging aspect when not in the dev profile.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fraction of the calls faster than the slow call threshold that are logged, between {@code 0} and {@code 1}.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Calls taking at least this long are always logged.
+         */
+        private Duration slowThreshold = Duration.ofMillis(500);
+
+        /**
+         * Period over which the published percentiles and maximum of the timings decay.
+         */
+        private Duration histogramExpiry = Duration.ofMinutes(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Duration getSlowThreshold() {
+            return slowThreshold;
+        }
+
+        public void setSlowThreshold(Duration slowThreshold) {
+            this.slowThreshold = slowThreshold;
+        }
+
+        public Duration getHistogramExpiry() {
+            return histogramExpiry;
+        }
+
+        public void setHistogramExpiry(Duration histogramExpiry) {
+            this.histogramExpiry = histogramExpiry;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory holding the disk tier of the cache regions.
+         */
+        private String diskPath = System.getProperty("java.io.tmpdir") + "/petcare-cache";
+
+        /**
+         * Sizing of the cache regions, keyed by cache name. Regions not listed here use the {@code jhipster.cache.ehcache} settings.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Invalidation {
+
+            public enum Channel {
+                /**
+                 * The caches are local to each node.
+                 */
+                NONE,
+                /**
+                 * Invalidations are written to and polled from the {@code cache_invalidation} table.
+                 */
+                DATABASE,
+                /**
+                 * Invalidations are sent as UDP datagrams to the {@code peers}.
+                 */
+                SOCKET,
+            }
+
+            /**
+             * How the evictions of a node are sent to the other nodes of the cluster.
+             */
+            private Channel channel = Channel.NONE;
+
+            /**
+             * Delay between two polls of the {@code database} channel.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * Time the rows of the {@code database} channel are kept.
+             */
+            private Duration retention = Duration.ofHours(1);
+
+            /**
+             * UDP port the {@code socket} channel listens on.
+             */
+            private int port = 47500;
+
+            /**
+             * Addresses of the other nodes for the {@code socket} channel, as {@code host:port}.
+             */
+            private List<String> peers = new ArrayList<>();
+
+            public Channel getChannel() {
+                return channel;
+            }
+
+            public void setChannel(Channel channel) {
+                this.channel = channel;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public Duration getRetention() {
+                return retention;
+            }
+
+            public void setRetention(Duration retention) {
+                this.retention = retention;
+            }
+
+            public int getPort() {
+                return port;
+            }
+
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public List<String> getPeers() {
+                return peers;
+            }
+
+            public void setPeers(List<String> peers) {
+                this.peers = peers;
+            }
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on the heap, defaults to {@code jhipster.cache.ehcache.max-entries}.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the off-heap tier in megabytes, {@code 0} for no off-heap tier.
+             */
+            private long offHeapMb = 0;
+
+            /**
+             * Size of the disk tier in megabytes, {@code 0} for no disk tier. It must be larger than the off-heap tier.
+             */
+            private long diskMb = 0;
+
+            /**
+             * Keep the disk tier across restarts.
+             */
+            private boolean diskPersistent = false;
+
+            /**
+             * Time an entry stays in the region after being written, defaults to {@code jhipster.cache.ehcache.time-to-live-seconds}.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time an entry stays in the region after being last read or written, replaces the time to live when set.
+             */
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(long diskMb) {
+                this.diskMb = diskMb;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+    }
+
+    public static class Mail {
+
+        private final Outbox outbox = new Outbox();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public static class Outbox {
+
+            /**
+             * Whether this node sends the emails of the outbox, they are still queued when disabled.
+             */
+            private boolean dispatcherEnabled = true;
+
+            /**
+             * Delay between two polls of the outbox.
+             */
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            /**
+             * Maximum number of emails sent over one SMTP connection.
+             */
+            private int batchSize = 50;
+
+            /**
+             * Number of attempts after which an email is marked as failed and no longer sent.
+             */
+            private int maxAttempts = 5;
+
+            /**
+             * Delay before the first retry of an email, doubled at each following attempt.
+             */
+            private Duration retryBackoff = Duration.ofSeconds(30);
+
+            /**
+             * Maximum delay between two attempts to send an email.
+             */
+            private Duration maxRetryBackoff = Duration.ofHours(1);
+
+            public boolean isDispatcherEnabled() {
+                return dispatcherEnabled;
+            }
+
+            public void setDispatcherEnabled(boolean dispatcherEnabled) {
+                this.dispatcherEnabled = dispatcherEnabled;
+            }
+
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+
+            public Duration getRetryBackoff() {
+                return retryBackoff;
+            }
+
+            public void setRetryBackoff(Duration retryBackoff) {
+                this.retryBackoff = retryBackoff;
+            }
+
+            public Duration getMaxRetryBackoff() {
+                return maxRetryBackoff;
+            }
+
+            public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+                this.maxRetryBackoff = maxRetryBackoff;
+            }
+        }
+    }
+
+    public static class Datasource {
+
+        /**
+         * Read replicas of the primary database, serving the list and count queries of the query services. Without
+         * replicas, every transaction uses the primary.
+         */
+        private List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * Replication lag above which a replica stops serving reads until it catches up.
+         */
+        private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+        /**
+         * Delay between two checks of the replication lag of the replicas.
+         */
+        private Duration replicaCheckInterval = Duration.ofSeconds(5);
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public Duration getMaxReplicaLag() {
+            return maxReplicaLag;
+        }
+
+        public void setMaxReplicaLag(Duration maxReplicaLag) {
+            this.maxReplicaLag = maxReplicaLag;
+        }
+
+        public Duration getReplicaCheckInterval() {
+            return replicaCheckInterval;
+        }
+
+        public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+            this.replicaCheckInterval = replicaCheckInterval;
+        }
+
+        public static class Replica {
+
+            /**
+             * JDBC URL of the replica.
+             */
+            private String url;
+
+            /**
+             * Login of the replica, defaults to the login of the primary.
+             */
+            private String username;
+
+            /**
+             * Password of the replica, defaults to the password of the primary.
+             */
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,14 +1,19 @@
 package com.techwiz.petcare.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,20 +30,63 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        AsyncTaskExecutor executor;
+        if (Threading.VIRTUAL.isActive(env)) {
+            executor = virtualThreadExecutor();
+        } else {
+            executor = threadPoolExecutor();
+        }
+        return new ExceptionHandlingAsyncTaskExecutor(executor);
+    }
+
+    private AsyncTaskExecutor threadPoolExecutor() {
         LOG.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        return executor;
+    }
+
+    /**
+     * One virtual thread per task. The number of tasks running at once is capped by
+     * {@code spring.task.execution.simple.concurrency-limit}, as there is no pool bounding it anymore: further tasks wait
+     * for a running one to complete.
+     * <p>
+     * The limit is enforced by a semaphore acquired inside each virtual thread, rather than with the concurrency throttle of
+     * {@link SimpleAsyncTaskExecutor}, which would block the caller submitting the task, such as a request thread or the
+     * scheduler. A waiting task only costs a parked virtual thread.
+     */
+    private AsyncTaskExecutor virtualThreadExecutor() {
+        LOG.debug("Creating Async Task Executor on virtual threads");
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+        executor.setVirtualThreads(true);
+        Integer concurrencyLimit = taskExecutionProperties.getSimple().getConcurrencyLimit();
+        if (concurrencyLimit != null && concurrencyLimit > 0) {
+            Semaphore permits = new Semaphore(concurrencyLimit);
+            executor.setTaskDecorator(task ->
+                () -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                }
+            );
+        }
+        return executor;
     }
 
     @Override
@@ -0,0 +1,60 @@
+package com.techwiz.petcare.config;
+
+import com.techwiz.petcare.cache.CacheInvalidationChannel;
+import com.techwiz.petcare.cache.DatabaseCacheInvalidationChannel;
+import com.techwiz.petcare.cache.SocketCacheInvalidationChannel;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the {@link CacheInvalidationChannel} selected by {@code application.cache.invalidation.channel}.
+ */
+@Configuration
+public class CacheInvalidationConfiguration {
+
+    private static final String CHANNEL_PROPERTY = "application.cache.invalidation.channel";
+
+    @Bean
+    @ConditionalOnProperty(name = CHANNEL_PROPERTY, havingValue = "database")
+    public CacheInvalidationChannel databaseCacheInvalidationChannel(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        TaskScheduler taskScheduler,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Cache.Invalidation invalidation = applicationProperties.getCache().getInvalidation();
+        return new DatabaseCacheInvalidationChannel(
+            jdbcTemplate,
+            new TransactionTemplate(transactionManager),
+            taskScheduler,
+            invalidation.getPollInterval(),
+            invalidation.getRetention()
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = CHANNEL_PROPERTY, havingValue = "socket")
+    public CacheInvalidationChannel socketCacheInvalidationChannel(ApplicationProperties applicationProperties) throws SocketException {
+        ApplicationProperties.Cache.Invalidation invalidation = applicationProperties.getCache().getInvalidation();
+        List<InetSocketAddress> peers = invalidation
+            .getPeers()
+            .stream()
+            .map(peer -> {
+                int separator = peer.lastIndexOf(':');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Cache invalidation peer must be host:port, got " + peer);
+                }
+                return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+            })
+            .toList();
+        return new SocketCacheInvalidationChannel(invalidation.getPort(), peers);
+    }
+}
@@ -1,12 +1,68 @@
 package com.techwiz.petcare.config;
 
+import com.techwiz.petcare.aop.replica.ReplicaReadAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
 @EnableJpaRepositories({ "com.techwiz.petcare.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    /**
+     * Data source routing the {@link com.techwiz.petcare.aop.replica.ReplicaRead} transactions to the replicas, replacing
+     * the one of Spring Boot when {@code application.datasource.replicas} are configured.
+     * <p>
+     * The pools of the replicas get the same {@code spring.datasource.hikari} settings as the pool of the primary.
+     */
+    @Bean
+    @ConditionalOnProperty("application.datasource.replicas[0].url")
+    public ReplicaRoutingDataSource dataSource(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        Environment env
+    ) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ApplicationProperties.Datasource.Replica replicaProperties = properties.getReplicas().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(replicaProperties.getUrl());
+            if (replicaProperties.getUsername() != null) {
+                replica.setUsername(replicaProperties.getUsername());
+                replica.setPassword(replicaProperties.getPassword());
+            }
+            replica.setPoolName(primary.getPoolName() + "-replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getMaxReplicaLag(), properties.getReplicaCheckInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty("application.datasource.replicas[0].url")
+    public ReplicaReadAspect replicaReadAspect(
+        ReplicaRoutingDataSource dataSource,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager
+    ) {
+        return new ReplicaReadAspect(dataSource, entityManagerFactory, transactionManager);
+    }
+}
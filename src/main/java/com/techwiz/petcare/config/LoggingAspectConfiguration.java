@@ -1,6 +1,9 @@
 package com.techwiz.petcare.config;
 
 import com.techwiz.petcare.aop.logging.LoggingAspect;
+import com.techwiz.petcare.aop.logging.SampledLoggingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -14,4 +17,12 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @Profile("!" + JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public SampledLoggingAspect sampledLoggingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Tracing tracing = applicationProperties.getTracing();
+        return new SampledLoggingAspect(meterRegistry, tracing.getSampleRate(), tracing.getSlowThreshold(), tracing.getHistogramExpiry());
+    }
 }
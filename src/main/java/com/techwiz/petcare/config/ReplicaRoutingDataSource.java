@@ -0,0 +1,208 @@
+package com.techwiz.petcare.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Data source sending the read-only transactions run through {@link #readFromReplica(Supplier)} to the read replicas of
+ * the primary database, and everything else to the primary.
+ * <p>
+ * Replica reads are opt-in, as the rows they return may lag behind the primary: they must not feed the caches of the
+ * application, nor be read by a transaction about to write. The physical connection is only fetched by the first
+ * statement of a transaction, once the transaction is known to be read-only, and is then taken from the replicas in turn
+ * through the read-only data source of {@link LazyConnectionDataSourceProxy}. The replication lag of every replica is
+ * checked periodically on a dedicated thread: a replica lagging more than the configured maximum, not replicating, or
+ * not reachable does not serve reads until a later check finds it caught up. When no replica is available, replica
+ * reads use the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String LAG_QUERY = "show replica status";
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ThreadLocal<Boolean> replicaRead = new ThreadLocal<>();
+
+    private volatile List<Replica> available = List.of();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag, Duration checkInterval) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        setReadOnlyDataSource(new ReplicaDataSource());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a read, letting the read-only transaction it starts use a replica.
+     *
+     * @param read the read, starting a read-only transaction.
+     * @param <T> the type of the result.
+     * @return the result of the read.
+     */
+    public <T> T readFromReplica(Supplier<T> read) {
+        Boolean previous = replicaRead.get();
+        replicaRead.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                replicaRead.remove();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource().close());
+        primary.close();
+    }
+
+    private void checkReplicas() {
+        List<Replica> caughtUp = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.check()) {
+                caughtUp.add(replica);
+            }
+        }
+        available = List.copyOf(caughtUp);
+    }
+
+    private Replica nextReplica() {
+        List<Replica> candidates = available;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private void markUnavailable(Replica replica, SQLException e) {
+        LOG.warn("Replica {} is not available, reads fall back to the primary: {}", replica.name(), e.getMessage());
+        replica.available = false;
+        List<Replica> remaining = new ArrayList<>(available);
+        remaining.remove(replica);
+        available = List.copyOf(remaining);
+    }
+
+    /**
+     * Read-only data source, giving a replica connection to the transactions run through {@link #readFromReplica(Supplier)}
+     * and a primary one to the other read-only transactions.
+     */
+    private class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (Boolean.TRUE.equals(replicaRead.get())) {
+                Replica replica = nextReplica();
+                if (replica != null) {
+                    try {
+                        return replica.dataSource().getConnection();
+                    } catch (SQLException e) {
+                        markUnavailable(replica, e);
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private volatile boolean available;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+
+        /**
+         * Check the replication lag of the replica, and log when it starts or stops serving reads.
+         *
+         * @return whether the replica can serve reads.
+         */
+        boolean check() {
+            String reason = null;
+            try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()
+            ) {
+                statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    if (!resultSet.next()) {
+                        reason = "it is not replicating";
+                    } else {
+                        long lag = resultSet.getLong(LAG_COLUMN);
+                        if (resultSet.wasNull()) {
+                            reason = "its replication is stopped";
+                        } else if (lag > maxLag.toSeconds()) {
+                            reason = "it is " + lag + "s behind the primary";
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                reason = e.getMessage();
+            }
+            boolean caughtUp = reason == null;
+            if (caughtUp && !available) {
+                LOG.info("Replica {} serves the read-only transactions", name());
+            } else if (!caughtUp && available) {
+                LOG.warn("Replica {} no longer serves the read-only transactions, {}", name(), reason);
+            } else if (!caughtUp) {
+                LOG.debug("Replica {} does not serve the read-only transactions, {}", name(), reason);
+            }
+            available = caughtUp;
+            return caughtUp;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static com.techwiz.petcare.security.SecurityUtils.JWT_ALGORITHM;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import com.techwiz.petcare.management.SecurityMetersService;
+import com.techwiz.petcare.security.CachingJwtDecoder;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -26,7 +27,16 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
+        JwtDecoder meteredJwtDecoder = meteredJwtDecoder(metersService);
+        int tokenCacheMaxSize = applicationProperties.getSecurity().getTokenCache().getMaxSize();
+        if (tokenCacheMaxSize <= 0) {
+            return meteredJwtDecoder;
+        }
+        return new CachingJwtDecoder(meteredJwtDecoder, metersService, tokenCacheMaxSize);
+    }
+
+    private JwtDecoder meteredJwtDecoder(SecurityMetersService metersService) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
         return token -> {
             try {
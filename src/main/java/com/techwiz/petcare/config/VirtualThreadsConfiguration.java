@@ -0,0 +1,36 @@
+package com.techwiz.petcare.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the blocking work of the application on virtual threads, when {@code spring.threads.virtual.enabled} is set on
+ * Java 21 or later.
+ * <p>
+ * Spring Boot moves the scheduled jobs to virtual threads on its own, and {@link AsyncConfiguration} does the same for
+ * {@code @Async} tasks. This configuration dispatches the servlet requests of Undertow to virtual threads rather than
+ * to its worker pool, which Spring Boot does not do.
+ * <p>
+ * MySQL Connector/J guards its I/O with {@code ReentrantLock} since 8.0.33, so a virtual thread waiting on the database
+ * unmounts from its carrier. Requests are no longer bounded by a worker pool though: beyond
+ * {@code spring.datasource.hikari.maximum-pool-size}, they wait for a connection and fail after
+ * {@code spring.datasource.hikari.connection-timeout}. Pinning by other libraries can be diagnosed with
+ * {@code -Djdk.tracePinnedThreads=short}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    @Bean
+    @ConditionalOnClass(name = "io.undertow.Undertow")
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-")));
+    }
+}
@@ -21,7 +21,8 @@ public class Appointment implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointmentSequenceGenerator")
+    @SequenceGenerator(name = "appointmentSequenceGenerator", sequenceName = "appointment_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -48,6 +49,10 @@ public class Appointment implements Serializable {
     @Column(name = "created_at")
     private Instant createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -141,6 +146,14 @@ public class Appointment implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -171,6 +184,7 @@ public class Appointment implements Serializable {
             ", apptTime='" + getApptTime() + "'" +
             ", status='" + getStatus() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -19,7 +19,8 @@ public class HealthRecord implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "healthRecordSequenceGenerator")
+    @SequenceGenerator(name = "healthRecordSequenceGenerator", sequenceName = "health_record_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -50,6 +51,10 @@ public class HealthRecord implements Serializable {
     @Column(name = "created_at")
     private Instant createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -156,6 +161,14 @@ public class HealthRecord implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -187,6 +200,7 @@ public class HealthRecord implements Serializable {
             ", treatment='" + getTreatment() + "'" +
             ", notes='" + getNotes() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
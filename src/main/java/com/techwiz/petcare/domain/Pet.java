@@ -20,7 +20,8 @@ public class Pet implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "petSequenceGenerator")
+    @SequenceGenerator(name = "petSequenceGenerator", sequenceName = "pet_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -55,6 +56,10 @@ public class Pet implements Serializable {
     @Column(name = "created_at")
     private Instant createdAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -174,6 +179,14 @@ public class Pet implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -206,6 +219,7 @@ public class Pet implements Serializable {
             ", gender='" + getGender() + "'" +
             ", photoUrl='" + getPhotoUrl() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,69 @@
+package com.techwiz.petcare.management;
+
+import com.techwiz.petcare.repository.AppointmentRepository;
+import com.techwiz.petcare.repository.PetRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the requests and hit ratio of the Hibernate query cache regions, from the Hibernate statistics.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_query_cache", havingValue = "true")
+public class QueryCacheMeters implements MeterBinder {
+
+    public static final String QUERY_CACHE_METER_NAME = "hibernate.query.cache";
+    public static final String QUERY_CACHE_METER_REGION_DIMENSION = "region";
+    public static final String QUERY_CACHE_METER_RESULT_DIMENSION = "result";
+
+    private static final List<String> REGIONS = List.of(
+        PetRepository.PETS_BY_OWNER_CACHE,
+        AppointmentRepository.APPOINTMENTS_BY_VET_AND_TIME_CACHE
+    );
+
+    private final Statistics statistics;
+
+    public QueryCacheMeters(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : REGIONS) {
+            requestsCounter(region, "hit", CacheRegionStatistics::getHitCount).register(registry);
+            requestsCounter(region, "miss", CacheRegionStatistics::getMissCount).register(registry);
+            Gauge.builder(QUERY_CACHE_METER_NAME + ".hit.ratio", statistics, s -> hitRatio(region))
+                .description("Ratio of the query cache lookups answered from the region")
+                .tag(QUERY_CACHE_METER_REGION_DIMENSION, region)
+                .register(registry);
+        }
+    }
+
+    private FunctionCounter.Builder<Statistics> requestsCounter(String region, String result, ToLongFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(QUERY_CACHE_METER_NAME + ".requests", statistics, s -> count(region, count))
+            .description("Lookups of cached query results")
+            .tag(QUERY_CACHE_METER_REGION_DIMENSION, region)
+            .tag(QUERY_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private double count(String region, ToLongFunction<CacheRegionStatistics> count) {
+        CacheRegionStatistics regionStatistics = statistics.getQueryRegionStatistics(region);
+        return regionStatistics != null ? count.applyAsLong(regionStatistics) : 0;
+    }
+
+    private double hitRatio(String region) {
+        double hits = count(region, CacheRegionStatistics::getHitCount);
+        double lookups = hits + count(region, CacheRegionStatistics::getMissCount);
+        return lookups > 0 ? hits / lookups : Double.NaN;
+    }
+}
@@ -2,6 +2,8 @@ package com.techwiz.petcare.management;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +15,59 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION =
+        "Indicates lookups of the tokens presented by the clients in the decoded token cache.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "lookups";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String LOGIN_METER_NAME = "security.authentication.login";
+    public static final String LOGIN_METER_DESCRIPTION = "Indicates the time to check the credentials of the logins.";
+    public static final String LOGIN_METER_RESULT_DIMENSION = "result";
+
+    public static final String LOGIN_QUEUE_METER_NAME = "security.authentication.login.queue";
+    public static final String LOGIN_QUEUE_METER_DESCRIPTION = "Indicates the time the logins wait for a password verification thread.";
+
+    public static final String LOGIN_REJECTED_METER_NAME = "security.authentication.login.rejected";
+    public static final String LOGIN_REJECTED_METER_DESCRIPTION =
+        "Indicates the logins rejected because every password verification thread was busy and the queue was full.";
+    public static final String LOGIN_REJECTED_METER_BASE_UNIT = "logins";
+
+    public static final String LOGIN_THROTTLED_METER_NAME = "security.authentication.login.throttled";
+    public static final String LOGIN_THROTTLED_METER_DESCRIPTION =
+        "Indicates the logins rejected without checking the credentials, after too many failures of the same login or client IP.";
+    public static final String LOGIN_THROTTLED_METER_BASE_UNIT = "logins";
+    public static final String LOGIN_THROTTLED_METER_KEY_DIMENSION = "key";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Timer loginSuccessTimer;
+    private final Timer loginFailureTimer;
+    private final Timer loginQueueTimer;
+    private final Counter loginRejectedCounter;
+    private final Counter loginThrottledByLoginCounter;
+    private final Counter loginThrottledByIpCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.loginSuccessTimer = loginTimerForResultBuilder("success").register(registry);
+        this.loginFailureTimer = loginTimerForResultBuilder("failure").register(registry);
+        this.loginQueueTimer = Timer.builder(LOGIN_QUEUE_METER_NAME).description(LOGIN_QUEUE_METER_DESCRIPTION).register(registry);
+        this.loginRejectedCounter = Counter.builder(LOGIN_REJECTED_METER_NAME)
+            .baseUnit(LOGIN_REJECTED_METER_BASE_UNIT)
+            .description(LOGIN_REJECTED_METER_DESCRIPTION)
+            .register(registry);
+        this.loginThrottledByLoginCounter = loginThrottledCounterForKeyBuilder("login").register(registry);
+        this.loginThrottledByIpCounter = loginThrottledCounterForKeyBuilder("ip").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +77,24 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Timer.Builder loginTimerForResultBuilder(String result) {
+        return Timer.builder(LOGIN_METER_NAME).description(LOGIN_METER_DESCRIPTION).tag(LOGIN_METER_RESULT_DIMENSION, result);
+    }
+
+    private Counter.Builder loginThrottledCounterForKeyBuilder(String key) {
+        return Counter.builder(LOGIN_THROTTLED_METER_NAME)
+            .baseUnit(LOGIN_THROTTLED_METER_BASE_UNIT)
+            .description(LOGIN_THROTTLED_METER_DESCRIPTION)
+            .tag(LOGIN_THROTTLED_METER_KEY_DIMENSION, key);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +110,29 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackLogin(long queuedNanos, long checkedNanos, boolean success) {
+        this.loginQueueTimer.record(queuedNanos, TimeUnit.NANOSECONDS);
+        (success ? this.loginSuccessTimer : this.loginFailureTimer).record(checkedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackLoginRejected() {
+        this.loginRejectedCounter.increment();
+    }
+
+    public void trackLoginThrottledByLogin() {
+        this.loginThrottledByLoginCounter.increment();
+    }
+
+    public void trackLoginThrottledByIp() {
+        this.loginThrottledByIpCounter.increment();
+    }
 }
@@ -1,7 +1,16 @@
 package com.techwiz.petcare.repository;
 
 import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
+import jakarta.persistence.QueryHint;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,134 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {}
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment> {
+    String APPOINTMENTS_BY_VET_AND_TIME_CACHE = "appointmentsByVetAndTime";
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = APPOINTMENTS_BY_VET_AND_TIME_CACHE),
+        }
+    )
+    Page<Appointment> findAllByVetIdAndApptTimeGreaterThanEqualAndApptTimeLessThan(
+        Long vetId,
+        ZonedDateTime from,
+        ZonedDateTime to,
+        Pageable pageable
+    );
+
+    List<Appointment> findAllByVetIdAndApptTimeGreaterThanEqualAndApptTimeLessThanOrderByApptTimeAscIdAsc(
+        Long vetId,
+        ZonedDateTime from,
+        ZonedDateTime to
+    );
+
+    List<AppointmentSlot> findAllByStatusIsNullOrStatusNot(ApptStatus status);
+
+    /**
+     * Get the appointments of several pets from a given time, leaving out the ones with the excluded status.
+     *
+     * @param petIds the ids of the pets.
+     * @param from the earliest appointment time.
+     * @param excludedStatus the status of the appointments to leave out.
+     * @return the matching appointments, ordered by pet and then by time.
+     */
+    @Query(
+        "select appointment from Appointment appointment" +
+        " where appointment.petId in :petIds and appointment.apptTime >= :from" +
+        " and (appointment.status is null or appointment.status <> :excludedStatus)" +
+        " order by appointment.petId, appointment.apptTime, appointment.id"
+    )
+    List<Appointment> findUpcomingByPetIds(
+        @Param("petIds") Collection<Long> petIds,
+        @Param("from") ZonedDateTime from,
+        @Param("excludedStatus") ApptStatus excludedStatus
+    );
+
+    /**
+     * Lock the bookings of a vet until the end of the current transaction, creating its lock row on first use.
+     * <p>
+     * Every transaction booking a vet takes this lock before {@link #findOverlappingIds}, so two nodes cannot both see the
+     * same slot as free. The statement only touches the {@code vet_booking_lock} table: nothing is flushed before it and
+     * no entity cache is invalidated by it.
+     *
+     * @param vetId the id of the vet.
+     * @return the number of rows inserted or updated.
+     */
+    @Modifying
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "vet_booking_lock"),
+        }
+    )
+    @Query(value = "insert into vet_booking_lock (vet_id) values (:vetId) on duplicate key update vet_id = vet_id", nativeQuery = true)
+    int lockVet(@Param("vetId") Long vetId);
+
+    /**
+     * Get the ids of the appointments of a vet starting strictly between two times, leaving out the ones with the
+     * excluded status.
+     * <p>
+     * This is a locking read, so it sees the appointments committed by other transactions since this one started. The
+     * appointments of the current transaction that are not flushed yet are not seen, the caller checks them in memory.
+     *
+     * @param vetId the id of the vet.
+     * @param from the time after which the appointments start.
+     * @param to the time before which the appointments start.
+     * @param appointmentId the id of an appointment to leave out, or {@code null}.
+     * @param excludedStatus the status of the appointments to leave out.
+     * @return the ids of the matching appointments.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(
+        value = "select appointment.id from appointment where appointment.vet_id = :vetId" +
+        " and appointment.appt_time > :from and appointment.appt_time < :to" +
+        " and (appointment.status is null or appointment.status <> :excludedStatus)" +
+        " and (:appointmentId is null or appointment.id <> :appointmentId) for share",
+        nativeQuery = true
+    )
+    List<Long> findOverlappingIds(
+        @Param("vetId") Long vetId,
+        @Param("from") ZonedDateTime from,
+        @Param("to") ZonedDateTime to,
+        @Param("appointmentId") Long appointmentId,
+        @Param("excludedStatus") String excludedStatus
+    );
+
+    /**
+     * Get the appointments of a vet starting strictly between two times, leaving out the ones with the excluded status.
+     * <p>
+     * Like {@link #findOverlappingIds}, this is a locking read that does not see the unflushed appointments of the current
+     * transaction. It reads a whole range at once, for the bulk creations.
+     *
+     * @param vetId the id of the vet.
+     * @param from the time after which the appointments start.
+     * @param to the time before which the appointments start.
+     * @param excludedStatus the status of the appointments to leave out.
+     * @return the matching appointments.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query(
+        value = "select appointment.* from appointment where appointment.vet_id = :vetId" +
+        " and appointment.appt_time > :from and appointment.appt_time < :to" +
+        " and (appointment.status is null or appointment.status <> :excludedStatus) for share",
+        nativeQuery = true
+    )
+    List<Appointment> findBookedBetween(
+        @Param("vetId") Long vetId,
+        @Param("from") ZonedDateTime from,
+        @Param("to") ZonedDateTime to,
+        @Param("excludedStatus") String excludedStatus
+    );
+
+    /**
+     * Projection of the columns needed to know when a vet is booked.
+     */
+    interface AppointmentSlot {
+        Long getId();
+
+        Long getVetId();
+
+        ZonedDateTime getApptTime();
+    }
+}
@@ -1,7 +1,15 @@
 package com.techwiz.petcare.repository;
 
 import com.techwiz.petcare.domain.HealthRecord;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,78 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long>, JpaSpecificationExecutor<HealthRecord> {}
+public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long>, JpaSpecificationExecutor<HealthRecord> {
+    /**
+     * Fetch size making MySQL Connector/J stream a forward-only, read-only result set row by row instead of reading it
+     * whole, without enabling server-side cursors for every query of the connection pool.
+     */
+    int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * Relevance of a health record for the {@code :query} parameter, using the {@code ft_health_record_text} index.
+     */
+    String TEXT_MATCH =
+        "match (health_record.diagnosis, health_record.treatment, health_record.notes)" + " against (:query in natural language mode)";
+
+    /**
+     * Stream the health records of a pet and/or a vet, for exports.
+     * <p>
+     * Rows are streamed one by one from the server (see {@link #STREAM_FETCH_SIZE}) and the entities are read-only and bypass
+     * the second-level cache, the caller is expected to detach them once processed so the persistence context does not grow.
+     * The connection cannot run any other statement until the stream is closed.
+     *
+     * @param petId the id of the pet, or {@code null} for all pets.
+     * @param vetId the id of the vet, or {@code null} for all vets.
+     * @return the matching health records, ordered by id.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query(
+        "select healthRecord from HealthRecord healthRecord" +
+        " where (:petId is null or healthRecord.petId = :petId) and (:vetId is null or healthRecord.vetId = :vetId)" +
+        " order by healthRecord.id"
+    )
+    Stream<HealthRecord> streamAllByPetIdAndVetId(@Param("petId") Long petId, @Param("vetId") Long vetId);
+
+    /**
+     * Get the latest health record of each of several pets: the one created last, the highest id breaking ties. Ids are
+     * allocated by blocks per node, so their order is not the order of creation.
+     *
+     * @param petIds the ids of the pets.
+     * @return at most one health record per pet.
+     */
+    @Query(
+        "select healthRecord from HealthRecord healthRecord where healthRecord.petId in :petIds and not exists" +
+        " (select later.id from HealthRecord later where later.petId = healthRecord.petId and (" +
+        " later.createdAt > healthRecord.createdAt" +
+        " or (healthRecord.createdAt is null and later.createdAt is not null)" +
+        " or ((later.createdAt = healthRecord.createdAt or (later.createdAt is null and healthRecord.createdAt is null))" +
+        " and later.id > healthRecord.id)))"
+    )
+    List<HealthRecord> findLatestByPetIds(@Param("petIds") Collection<Long> petIds);
+
+    /**
+     * Search the health records whose diagnosis, treatment or notes match a text, through the MySQL FULLTEXT index.
+     * <p>
+     * The pageable must not be sorted: results are ordered by relevance, then by most recent id.
+     *
+     * @param query the words to search, in natural language mode.
+     * @param pageable the pagination information.
+     * @return the matching health records.
+     */
+    @Query(
+        value = "select health_record.* from health_record where " +
+        TEXT_MATCH +
+        " order by " +
+        TEXT_MATCH +
+        " desc, health_record.id desc",
+        countQuery = "select count(*) from health_record where " + TEXT_MATCH,
+        nativeQuery = true
+    )
+    Page<HealthRecord> searchByText(@Param("query") String query, Pageable pageable);
+}
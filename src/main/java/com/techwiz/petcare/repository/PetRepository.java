@@ -1,6 +1,11 @@
 package com.techwiz.petcare.repository;
 
 import com.techwiz.petcare.domain.Pet;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +14,33 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet> {}
+public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet> {
+    String PETS_BY_OWNER_CACHE = "petsByOwner";
+
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = PETS_BY_OWNER_CACHE),
+        }
+    )
+    Page<Pet> findAllByOwnerId(Long ownerId, Pageable pageable);
+
+    List<Pet> findAllByOwnerIdOrderByIdAsc(Long ownerId);
+
+    List<PetName> findAllProjectedBy();
+
+    /**
+     * Projection of the columns a pet can be looked up by.
+     */
+    interface PetName {
+        Long getId();
+
+        Long getOwnerId();
+
+        String getName();
+
+        String getSpecies();
+
+        String getBreed();
+    }
+}
@@ -0,0 +1,105 @@
+package com.techwiz.petcare.security;
+
+import com.techwiz.petcare.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Supplier;
+import org.ehcache.UserManagedCache;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.builders.UserManagedCacheBuilder;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} keeping the tokens it already decoded, so a client resending the same token skips the signature
+ * verification and the parsing of the claims.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the token and are held in an Ehcache heap cache that expires each of them at
+ * the {@code exp} claim of its token: after that, or for a token that fails to decode, the call goes to the delegate,
+ * which keeps tracking the invalid tokens in {@link SecurityMetersService}. The cache holds at most {@code maxSize} tokens,
+ * a least recently used entry, picked among a sample, being evicted in constant time when it is full.
+ */
+public class CachingJwtDecoder implements JwtDecoder, AutoCloseable {
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final UserManagedCache<String, Jwt> tokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maxSize) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.tokens = UserManagedCacheBuilder.newUserManagedCacheBuilder(String.class, Jwt.class)
+            .withResourcePools(ResourcePoolsBuilder.heap(maxSize))
+            .withExpiry(new TokenExpiry())
+            .build(true);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(token);
+        }
+        String key = hash(token);
+        Jwt jwt = tokens.get(key);
+        if (jwt != null) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        if (isCacheable(jwt, Instant.now())) {
+            tokens.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    @Override
+    public void close() {
+        tokens.close();
+    }
+
+    private static boolean isCacheable(Jwt jwt, Instant now) {
+        Instant expiresAt = jwt.getExpiresAt();
+        Instant notBefore = jwt.getNotBefore();
+        return expiresAt != null && now.isBefore(expiresAt) && (notBefore == null || !now.isBefore(notBefore));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry at the {@code exp} claim of its token.
+     */
+    private static class TokenExpiry implements ExpiryPolicy<String, Jwt> {
+
+        @Override
+        public Duration getExpiryForCreation(String key, Jwt jwt) {
+            Duration timeToLive = Duration.between(Instant.now(), jwt.getExpiresAt());
+            return timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(String key, Supplier<? extends Jwt> jwt) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(String key, Supplier<? extends Jwt> oldJwt, Jwt newJwt) {
+            return getExpiryForCreation(key, newJwt);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.techwiz.petcare.security;
+
+import com.techwiz.petcare.config.ApplicationProperties;
+import com.techwiz.petcare.management.SecurityMetersService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the credentials of the logins on a dedicated pool of one thread per processor, so that a burst of logins, each
+ * spending most of its time hashing the password with BCrypt, cannot take the request threads and the CPU from the rest
+ * of the API.
+ * <p>
+ * Logins wait for a thread in a bounded queue. When it is full, further logins are rejected right away with a
+ * {@link LoginUnavailableException} instead of piling up.
+ */
+@Component
+public class LoginExecutor implements DisposableBean {
+
+    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+
+    private final SecurityMetersService metersService;
+
+    private final ThreadPoolExecutor executor;
+
+    public LoginExecutor(
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        SecurityMetersService metersService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.metersService = metersService;
+        ApplicationProperties.Security.Login properties = applicationProperties.getSecurity().getLogin();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "login-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+    }
+
+    /**
+     * Authenticate a login on the login threads.
+     *
+     * @param authenticationToken the credentials of the login.
+     * @return the authentication, completed exceptionally with an
+     * {@link org.springframework.security.core.AuthenticationException} when the credentials are not valid.
+     * @throws LoginUnavailableException if too many logins are waiting already.
+     */
+    public CompletableFuture<Authentication> authenticate(Authentication authenticationToken) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(
+                () -> {
+                    long started = System.nanoTime();
+                    boolean success = false;
+                    try {
+                        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+                        success = true;
+                        return authentication;
+                    } finally {
+                        metersService.trackLogin(started - submitted, System.nanoTime() - started, success);
+                    }
+                },
+                executor
+            );
+        } catch (RejectedExecutionException e) {
+            metersService.trackLoginRejected();
+            throw new LoginUnavailableException("Too many logins in progress, try again later", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
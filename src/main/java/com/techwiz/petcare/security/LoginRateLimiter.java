@@ -0,0 +1,215 @@
+package com.techwiz.petcare.security;
+
+import com.techwiz.petcare.config.ApplicationProperties;
+import com.techwiz.petcare.management.SecurityMetersService;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the failed logins of every login and client IP over a sliding window, and rejects the logins of those having
+ * failed too often before their credentials are checked, so that credential stuffing and password guessing do not cost
+ * a user lookup and a BCrypt hash each.
+ * <p>
+ * Every attempt is counted as a failure when it is let through, atomically with the check against the limit, so that
+ * attempts sent in parallel cannot all pass before the first of them fails. The attempt is refunded once it succeeds, or
+ * if its credentials could not be checked.
+ * <p>
+ * The window slides over fixed windows: the failures counted in the previous fixed window are weighted by the part of
+ * it still covered by the sliding window, and carried over by the first failure of the next one. Each counter is a
+ * single {@link AtomicLong} packing the index of its fixed window and the failures in it, updated without locking. The
+ * counters are spread over stripes, each of them dropping its idle counters when it is full, then its least loaded
+ * ones, so that the failures of new keys are always counted.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    private final SecurityMetersService metersService;
+
+    private final long windowMillis;
+
+    private final int maxFailuresPerLogin;
+
+    private final int maxFailuresPerIp;
+
+    private final int maxKeysPerStripe;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    // windows are counted from the creation of the limiter, so that their index fits in 32 bits
+    private final long origin = System.currentTimeMillis();
+
+    public LoginRateLimiter(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
+        this.metersService = metersService;
+        ApplicationProperties.Security.Login properties = applicationProperties.getSecurity().getLogin();
+        this.windowMillis = properties.getFailureWindow().toMillis();
+        this.maxFailuresPerLogin = properties.getMaxFailuresPerLogin();
+        this.maxFailuresPerIp = properties.getMaxFailuresPerIp();
+        this.maxKeysPerStripe = Math.max(1, properties.getMaxTrackedKeys() / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Check that a login may be attempted, and count the attempt as a failure until it is known to have succeeded.
+     *
+     * @param login the login being authenticated.
+     * @param ip the IP of the client.
+     * @throws LoginThrottledException if the login or the client IP failed too many logins recently.
+     */
+    public void check(String login, String ip) {
+        long now = System.currentTimeMillis() - origin;
+        String loginKey = loginKey(login);
+        if (!tryIncrement(loginKey, now, maxFailuresPerLogin)) {
+            metersService.trackLoginThrottledByLogin();
+            throw new LoginThrottledException("Too many failed logins for this account, try again later", retryAfterSeconds());
+        }
+        if (!tryIncrement(ipKey(ip), now, maxFailuresPerIp)) {
+            decrement(loginKey);
+            metersService.trackLoginThrottledByIp();
+            throw new LoginThrottledException("Too many failed logins from this address, try again later", retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Forget the failures of a login once it succeeded, and refund its attempt to the client IP, whose earlier failures
+     * are kept.
+     *
+     * @param login the login that succeeded.
+     * @param ip the IP of the client.
+     */
+    public void recordSuccess(String login, String ip) {
+        String key = loginKey(login);
+        stripe(key).counters.remove(key);
+        decrement(ipKey(ip));
+    }
+
+    /**
+     * Refund an attempt whose credentials could not be checked, such as a login rejected because too many are in progress.
+     *
+     * @param login the login being authenticated.
+     * @param ip the IP of the client.
+     */
+    public void release(String login, String ip) {
+        decrement(loginKey(login));
+        decrement(ipKey(ip));
+    }
+
+    private double failures(String key, long now) {
+        AtomicLong counter = stripe(key).counters.get(key);
+        return counter == null ? 0 : failures(counter.get(), now);
+    }
+
+    private double failures(long value, long now) {
+        long window = now / windowMillis;
+        long valueWindow = value >>> 32;
+        long count = value & COUNT_MASK;
+        if (valueWindow == window) {
+            return count;
+        }
+        if (valueWindow == window - 1) {
+            return count * (1 - (double) (now % windowMillis) / windowMillis);
+        }
+        return 0;
+    }
+
+    private boolean tryIncrement(String key, long now, int limit) {
+        Stripe stripe = stripe(key);
+        AtomicLong counter = stripe.counters.get(key);
+        if (counter == null) {
+            if (stripe.counters.size() >= maxKeysPerStripe) {
+                makeRoom(stripe, now);
+            }
+            counter = stripe.counters.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        long window = now / windowMillis;
+        while (true) {
+            long value = counter.get();
+            if (failures(value, now) >= limit) {
+                return false;
+            }
+            long valueWindow = value >>> 32;
+            long count = value & COUNT_MASK;
+            long next;
+            if (valueWindow == window) {
+                next = (window << 32) | Math.min(count + 1, COUNT_MASK);
+            } else if (valueWindow == window - 1) {
+                // carry the failures of the previous window over, weighted as in failures()
+                double remaining = 1 - (double) (now % windowMillis) / windowMillis;
+                next = (window << 32) | ((long) Math.ceil(count * remaining) + 1);
+            } else {
+                next = (window << 32) | 1;
+            }
+            if (counter.compareAndSet(value, next)) {
+                return true;
+            }
+        }
+    }
+
+    private void decrement(String key) {
+        AtomicLong counter = stripe(key).counters.get(key);
+        if (counter != null) {
+            counter.updateAndGet(value -> (value & COUNT_MASK) > 0 ? value - 1 : value);
+        }
+    }
+
+    /**
+     * Drop the expired counters of a full stripe, then its least loaded ones if it is still full, so that new keys are
+     * always counted: spraying many distinct logins or IPs evicts keys that failed little, not the throttled ones.
+     */
+    private void makeRoom(Stripe stripe, long now) {
+        synchronized (stripe) {
+            if (stripe.counters.size() < maxKeysPerStripe) {
+                return;
+            }
+            stripe.purge(now / windowMillis);
+            int excess = stripe.counters.size() - maxKeysPerStripe + 1;
+            if (excess <= 0) {
+                return;
+            }
+            // evict an eighth of the stripe at once, so that the sort is not repeated for every new key
+            int count = Math.max(excess, maxKeysPerStripe / 8);
+            stripe.counters
+                .keySet()
+                .stream()
+                .map(key -> Map.entry(key, failures(key, now)))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(stripe.counters::remove);
+        }
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, windowMillis / 1000);
+    }
+
+    private Stripe stripe(String key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    private static String loginKey(String login) {
+        return "login:" + (login == null ? "" : login.toLowerCase(Locale.ENGLISH));
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+        void purge(long window) {
+            counters.values().removeIf(counter -> (counter.get() >>> 32) < window - 1);
+        }
+    }
+}
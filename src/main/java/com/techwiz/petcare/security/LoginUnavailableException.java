@@ -0,0 +1,13 @@
+package com.techwiz.petcare.security;
+
+/**
+ * This exception is thrown when a login cannot be handled because too many logins are already being checked.
+ */
+public class LoginUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoginUnavailableException(String message, Throwable t) {
+        super(message, t);
+    }
+}
@@ -1,18 +1,27 @@
 package com.techwiz.petcare.service;
 
+import com.techwiz.petcare.aop.replica.ReplicaRead;
 import com.techwiz.petcare.domain.*; // for static metamodels
 import com.techwiz.petcare.domain.Appointment;
 import com.techwiz.petcare.repository.AppointmentRepository;
 import com.techwiz.petcare.service.criteria.AppointmentCriteria;
 import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.service.dto.CursorPage;
 import com.techwiz.petcare.service.mapper.AppointmentMapper;
+import java.time.ZonedDateTime;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import tech.jhipster.service.QueryService;
 
 /**
@@ -27,6 +36,8 @@ public class AppointmentQueryService extends QueryService<Appointment> {
 
     private static final Logger LOG = LoggerFactory.getLogger(AppointmentQueryService.class);
 
+    private static final Sort KEYSET_SORT = Sort.by(Appointment_.APPT_TIME, Appointment_.ID);
+
     private final AppointmentRepository appointmentRepository;
 
     private final AppointmentMapper appointmentMapper;
@@ -42,18 +53,81 @@ public class AppointmentQueryService extends QueryService<Appointment> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Page<AppointmentDTO> findByCriteria(AppointmentCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        if (isCacheableVetAndTime(criteria)) {
+            return appointmentRepository
+                .findAllByVetIdAndApptTimeGreaterThanEqualAndApptTimeLessThan(
+                    criteria.getVetId().getEquals(),
+                    criteria.getApptTime().getGreaterThanOrEqual(),
+                    criteria.getApptTime().getLessThan(),
+                    page
+                )
+                .map(appointmentMapper::toDto);
+        }
         final Specification<Appointment> specification = createSpecification(criteria);
         return appointmentRepository.findAll(specification, page).map(appointmentMapper::toDto);
     }
 
+    /**
+     * Return a {@link CursorPage} of {@link AppointmentDTO} which matches the criteria from the database,
+     * ordered by {@code apptTime} then {@code id} and starting after the given cursor.
+     * No count query is issued, and the cost of a page does not depend on how far the client has scrolled.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The cursor of the page to return, or {@code null} for the first page.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentDTO> findByCriteria(AppointmentCriteria criteria, String cursor, int size) {
+        LOG.debug("find by criteria : {}, cursor: {}, size: {}", criteria, cursor, size);
+        Specification<Appointment> specification = createSpecification(criteria);
+        if (StringUtils.hasText(cursor)) {
+            specification = specification.and(createKeysetSpecification(KeysetCursor.decode(cursor, 2)));
+        }
+        List<Appointment> appointments = appointmentRepository.findBy(specification, query ->
+            query.sortBy(KEYSET_SORT).limit(size + 1).all()
+        );
+        String nextCursor = null;
+        if (appointments.size() > size) {
+            appointments = appointments.subList(0, size);
+            Appointment last = appointments.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getApptTime(), last.getId());
+        }
+        return new CursorPage<>(appointmentMapper.toDto(appointments), nextCursor);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link AppointmentDTO} which matches the criteria from the database.
+     * One more entity than the page size is fetched to know whether there is a next page, so no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<AppointmentDTO> findSliceByCriteria(AppointmentCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Appointment> specification = createSpecification(criteria);
+        List<Appointment> appointments = appointmentRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize() + 1).scroll(ScrollPosition.offset(page.getOffset())).getContent()
+        );
+        boolean hasNext = appointments.size() > page.getPageSize();
+        if (hasNext) {
+            appointments = appointments.subList(0, page.getPageSize());
+        }
+        return new SliceImpl<>(appointments, page, hasNext).map(appointmentMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public long countByCriteria(AppointmentCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
@@ -83,4 +157,48 @@ public class AppointmentQueryService extends QueryService<Appointment> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert a {@link KeysetCursor} to a {@link Specification} matching the entities after it.
+     * @param cursor The cursor holding the {@code apptTime} and {@code id} of the last entity of the previous page.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Appointment> createKeysetSpecification(KeysetCursor cursor) {
+        ZonedDateTime apptTime = cursor.getZonedDateTime(0);
+        Long id = cursor.getLong(1);
+        if (apptTime == null || id == null) {
+            throw new InvalidCursorException();
+        }
+        return (root, query, builder) ->
+            builder.or(
+                builder.greaterThan(root.get(Appointment_.apptTime), apptTime),
+                builder.and(builder.equal(root.get(Appointment_.apptTime), apptTime), builder.greaterThan(root.get(Appointment_.id), id))
+            );
+    }
+
+    /**
+     * Function to recognize the criteria served from the {@link AppointmentRepository#APPOINTMENTS_BY_VET_AND_TIME_CACHE} query
+     * cache region: the appointments of a vet within a time range, typically a day.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return {@code true} if the criteria only filters on {@code vetId.equals}, {@code apptTime.greaterThanOrEqual} and
+     * {@code apptTime.lessThan}.
+     */
+    protected boolean isCacheableVetAndTime(AppointmentCriteria criteria) {
+        if (
+            criteria == null ||
+            criteria.getVetId() == null ||
+            criteria.getVetId().getEquals() == null ||
+            criteria.getApptTime() == null ||
+            criteria.getApptTime().getGreaterThanOrEqual() == null ||
+            criteria.getApptTime().getLessThan() == null
+        ) {
+            return false;
+        }
+        AppointmentCriteria shape = new AppointmentCriteria();
+        shape.vetId().setEquals(criteria.getVetId().getEquals());
+        shape.apptTime().setGreaterThanOrEqual(criteria.getApptTime().getGreaterThanOrEqual());
+        shape.apptTime().setLessThan(criteria.getApptTime().getLessThan());
+        shape.setDistinct(criteria.getDistinct());
+        return shape.equals(criteria);
+    }
 }
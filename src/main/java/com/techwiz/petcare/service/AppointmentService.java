@@ -1,17 +1,43 @@
 package com.techwiz.petcare.service;
 
+import com.techwiz.petcare.config.ApplicationProperties;
 import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
 import com.techwiz.petcare.repository.AppointmentRepository;
+import com.techwiz.petcare.service.dto.AppointmentBulkResultDTO;
 import com.techwiz.petcare.service.dto.AppointmentDTO;
 import com.techwiz.petcare.service.mapper.AppointmentMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service Implementation for managing {@link com.techwiz.petcare.domain.Appointment}.
+ * <p>
+ * Double bookings are rejected by the {@link VetAvailabilityIndex} without querying the database. A booking the index
+ * accepts goes through a final guard before it is written: the transaction takes the booking lock of the vet and looks
+ * for overlapping appointments committed by any node, as the index learns about the bookings of the other nodes with a
+ * delay. The vet is always locked before any appointment is written.
  */
 @Service
 @Transactional
@@ -23,9 +49,36 @@ public class AppointmentService {
 
     private final AppointmentMapper appointmentMapper;
 
-    public AppointmentService(AppointmentRepository appointmentRepository, AppointmentMapper appointmentMapper) {
+    private final VetAvailabilityIndex vetAvailabilityIndex;
+
+    private final VetScheduleIndex vetScheduleIndex;
+
+    private final Validator validator;
+
+    private final OwnerOverviewService ownerOverviewService;
+
+    private final int batchSize;
+
+    private final Duration slotDuration;
+
+    public AppointmentService(
+        AppointmentRepository appointmentRepository,
+        AppointmentMapper appointmentMapper,
+        VetAvailabilityIndex vetAvailabilityIndex,
+        VetScheduleIndex vetScheduleIndex,
+        Validator validator,
+        OwnerOverviewService ownerOverviewService,
+        ApplicationProperties applicationProperties,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentMapper = appointmentMapper;
+        this.vetAvailabilityIndex = vetAvailabilityIndex;
+        this.vetScheduleIndex = vetScheduleIndex;
+        this.validator = validator;
+        this.ownerOverviewService = ownerOverviewService;
+        this.batchSize = batchSize;
+        this.slotDuration = applicationProperties.getAppointment().getSlotDuration();
     }
 
     /**
@@ -33,24 +86,109 @@ public class AppointmentService {
      *
      * @param appointmentDTO the entity to save.
      * @return the persisted entity.
+     * @throws VetUnavailableException if the vet already has an appointment at this time.
      */
     public AppointmentDTO save(AppointmentDTO appointmentDTO) {
         LOG.debug("Request to save Appointment : {}", appointmentDTO);
+        checkVetAvailability(appointmentDTO);
         Appointment appointment = appointmentMapper.toEntity(appointmentDTO);
         appointment = appointmentRepository.save(appointment);
+        bookVet(appointment);
+        vetScheduleIndex.update(appointment);
+        ownerOverviewService.evictForPet(appointment.getPetId());
         return appointmentMapper.toDto(appointment);
     }
 
+    /**
+     * Save a batch of new appointments.
+     * <p>
+     * Each appointment is validated and checked against the vets' schedules, including the appointments saved before it
+     * in the same batch. The valid ones are persisted in this transaction and flushed every {@code batchSize} entities,
+     * so that Hibernate sends them as JDBC batches; the others are rejected and left out. The vets of the batch are locked
+     * up front, and their appointments committed around the times of the batch are read with one query per vet.
+     *
+     * @param appointmentDTOs the entities to save.
+     * @return the result of every entity, in the same order.
+     */
+    public List<AppointmentBulkResultDTO> saveAll(List<AppointmentDTO> appointmentDTOs) {
+        LOG.debug("Request to save {} Appointments", appointmentDTOs.size());
+        List<AppointmentBulkResultDTO> results = new ArrayList<>(appointmentDTOs.size());
+        Set<Long> petIds = new HashSet<>();
+        Map<Long, NavigableSet<Instant>> bookedByVet = lockVets(appointmentDTOs);
+        int pending = 0;
+        for (int index = 0; index < appointmentDTOs.size(); index++) {
+            AppointmentDTO appointmentDTO = appointmentDTOs.get(index);
+            if (appointmentDTO == null) {
+                results.add(AppointmentBulkResultDTO.rejected(index, null, "validation", "The appointment must not be null"));
+                continue;
+            }
+            if (appointmentDTO.getId() != null) {
+                results.add(
+                    AppointmentBulkResultDTO.rejected(index, appointmentDTO, "idexists", "A new appointment cannot already have an ID")
+                );
+                continue;
+            }
+            Set<ConstraintViolation<AppointmentDTO>> violations = validator.validate(appointmentDTO);
+            if (!violations.isEmpty()) {
+                String message = violations
+                    .stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+                results.add(AppointmentBulkResultDTO.rejected(index, appointmentDTO, "validation", message));
+                continue;
+            }
+            if (
+                appointmentDTO.getStatus() != ApptStatus.CANCELLED &&
+                (!vetAvailabilityIndex.isAvailable(appointmentDTO.getVetId(), appointmentDTO.getApptTime(), null) ||
+                    overlaps(bookedByVet.get(appointmentDTO.getVetId()), appointmentDTO.getApptTime().toInstant()))
+            ) {
+                results.add(rejectVetUnavailable(index, appointmentDTO));
+                continue;
+            }
+            Appointment appointment = appointmentRepository.save(appointmentMapper.toEntity(appointmentDTO));
+            if (!vetAvailabilityIndex.book(appointment)) {
+                // booked concurrently since the check above: the entity is still only scheduled for insertion
+                appointmentRepository.delete(appointment);
+                results.add(rejectVetUnavailable(index, appointmentDTO));
+                continue;
+            }
+            vetScheduleIndex.update(appointment);
+            results.add(AppointmentBulkResultDTO.created(index, appointmentMapper.toDto(appointment)));
+            petIds.add(appointment.getPetId());
+            if (++pending == batchSize) {
+                appointmentRepository.flush();
+                pending = 0;
+            }
+        }
+        appointmentRepository.flush();
+        petIds.forEach(ownerOverviewService::evictForPet);
+        return results;
+    }
+
     /**
      * Update a appointment.
      *
      * @param appointmentDTO the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
+     * @throws VetUnavailableException if the vet already has an appointment at this time.
      */
     public AppointmentDTO update(AppointmentDTO appointmentDTO) {
         LOG.debug("Request to update Appointment : {}", appointmentDTO);
+        Optional<Appointment> existingAppointment = appointmentRepository.findById(appointmentDTO.getId());
+        // a stale version is reported as such, whether or not the slot is still free
+        existingAppointment.ifPresent(current -> checkVersion(appointmentDTO, current));
+        checkVetAvailability(appointmentDTO);
+        Long previousPetId = existingAppointment.map(Appointment::getPetId).orElse(null);
         Appointment appointment = appointmentMapper.toEntity(appointmentDTO);
-        appointment = appointmentRepository.save(appointment);
+        // the update replaces the current version of the appointment
+        existingAppointment.map(Appointment::getVersion).ifPresent(appointment::setVersion);
+        // flushed so that the returned version is the one incremented by the update
+        appointment = appointmentRepository.saveAndFlush(appointment);
+        bookVet(appointment);
+        vetScheduleIndex.update(appointment);
+        ownerOverviewService.evictForPet(previousPetId, appointment.getPetId());
         return appointmentMapper.toDto(appointment);
     }
 
@@ -59,6 +197,8 @@ public class AppointmentService {
      *
      * @param appointmentDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
+     * @throws VetUnavailableException if the vet already has an appointment at this time.
      */
     public Optional<AppointmentDTO> partialUpdate(AppointmentDTO appointmentDTO) {
         LOG.debug("Request to partially update Appointment : {}", appointmentDTO);
@@ -66,11 +206,25 @@ public class AppointmentService {
         return appointmentRepository
             .findById(appointmentDTO.getId())
             .map(existingAppointment -> {
+                checkVersion(appointmentDTO, existingAppointment);
+                Long previousPetId = existingAppointment.getPetId();
                 appointmentMapper.partialUpdate(existingAppointment, appointmentDTO);
+                checkVetAvailability(
+                    existingAppointment.getVetId(),
+                    existingAppointment.getApptTime(),
+                    existingAppointment.getId(),
+                    existingAppointment.getStatus()
+                );
+                ownerOverviewService.evictForPet(previousPetId, existingAppointment.getPetId());
 
                 return existingAppointment;
             })
-            .map(appointmentRepository::save)
+            .map(appointmentRepository::saveAndFlush)
+            .map(appointment -> {
+                bookVet(appointment);
+                vetScheduleIndex.update(appointment);
+                return appointment;
+            })
             .map(appointmentMapper::toDto);
     }
 
@@ -86,6 +240,18 @@ public class AppointmentService {
         return appointmentRepository.findById(id).map(appointmentMapper::toDto);
     }
 
+    /**
+     * Get the version of one appointment by id.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Appointment : {}", id);
+        return appointmentRepository.findById(id).map(Appointment::getVersion);
+    }
+
     /**
      * Delete the appointment by id.
      *
@@ -93,6 +259,87 @@ public class AppointmentService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Appointment : {}", id);
+        appointmentRepository.findById(id).map(Appointment::getPetId).ifPresent(ownerOverviewService::evictForPet);
         appointmentRepository.deleteById(id);
+        vetAvailabilityIndex.release(id);
+        vetScheduleIndex.remove(id);
+    }
+
+    private void checkVetAvailability(AppointmentDTO appointmentDTO) {
+        checkVetAvailability(appointmentDTO.getVetId(), appointmentDTO.getApptTime(), appointmentDTO.getId(), appointmentDTO.getStatus());
+    }
+
+    private void checkVetAvailability(Long vetId, ZonedDateTime apptTime, Long appointmentId, ApptStatus status) {
+        if (status == ApptStatus.CANCELLED) {
+            return;
+        }
+        if (!vetAvailabilityIndex.isAvailable(vetId, apptTime, appointmentId)) {
+            throw new VetUnavailableException();
+        }
+        // final guard, the lock is held until the end of the transaction
+        appointmentRepository.lockVet(vetId);
+        if (isBookedInDatabase(vetId, apptTime, appointmentId)) {
+            throw new VetUnavailableException();
+        }
+    }
+
+    private boolean isBookedInDatabase(Long vetId, ZonedDateTime apptTime, Long appointmentId) {
+        ZonedDateTime from = apptTime.minus(slotDuration);
+        ZonedDateTime to = apptTime.plus(slotDuration);
+        return !appointmentRepository.findOverlappingIds(vetId, from, to, appointmentId, ApptStatus.CANCELLED.name()).isEmpty();
+    }
+
+    // locks the vets in order, so that two batches booking the same vets cannot deadlock, and reads their booked times
+    private Map<Long, NavigableSet<Instant>> lockVets(List<AppointmentDTO> appointmentDTOs) {
+        Map<Long, List<ZonedDateTime>> apptTimesByVet = new TreeMap<>();
+        for (AppointmentDTO appointmentDTO : appointmentDTOs) {
+            if (
+                appointmentDTO != null &&
+                appointmentDTO.getId() == null &&
+                appointmentDTO.getStatus() != ApptStatus.CANCELLED &&
+                appointmentDTO.getVetId() != null &&
+                appointmentDTO.getApptTime() != null
+            ) {
+                apptTimesByVet.computeIfAbsent(appointmentDTO.getVetId(), vetId -> new ArrayList<>()).add(appointmentDTO.getApptTime());
+            }
+        }
+        Map<Long, NavigableSet<Instant>> bookedByVet = new HashMap<>();
+        apptTimesByVet.forEach((vetId, apptTimes) -> {
+            appointmentRepository.lockVet(vetId);
+            ZonedDateTime from = Collections.min(apptTimes).minus(slotDuration);
+            ZonedDateTime to = Collections.max(apptTimes).plus(slotDuration);
+            NavigableSet<Instant> booked = new TreeSet<>();
+            for (Appointment appointment : appointmentRepository.findBookedBetween(vetId, from, to, ApptStatus.CANCELLED.name())) {
+                booked.add(appointment.getApptTime().toInstant());
+            }
+            bookedByVet.put(vetId, booked);
+        });
+        return bookedByVet;
+    }
+
+    private boolean overlaps(NavigableSet<Instant> booked, Instant start) {
+        if (booked == null) {
+            return false;
+        }
+        Instant before = booked.floor(start);
+        Instant after = booked.ceiling(start);
+        return (before != null && before.plus(slotDuration).isAfter(start)) || (after != null && start.plus(slotDuration).isAfter(after));
+    }
+
+    private AppointmentBulkResultDTO rejectVetUnavailable(int index, AppointmentDTO appointmentDTO) {
+        return AppointmentBulkResultDTO.rejected(index, appointmentDTO, "vetunavailable", new VetUnavailableException().getMessage());
+    }
+
+    private void bookVet(Appointment appointment) {
+        if (!vetAvailabilityIndex.book(appointment)) {
+            throw new VetUnavailableException();
+        }
+    }
+
+    private static void checkVersion(AppointmentDTO appointmentDTO, Appointment appointment) {
+        // a DTO without a version updates whatever the current version is
+        if (appointmentDTO.getVersion() != null && !appointmentDTO.getVersion().equals(appointment.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Appointment.class, appointment.getId());
+        }
     }
 }
@@ -0,0 +1,152 @@
+package com.techwiz.petcare.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.techwiz.petcare.domain.HealthRecord;
+import com.techwiz.petcare.repository.HealthRecordRepository;
+import com.techwiz.petcare.service.mapper.HealthRecordMapper;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting {@link HealthRecord} entities.
+ * <p>
+ * Records are streamed from the database and written to the output one by one, so memory stays constant whatever the
+ * size of the export.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HealthRecordExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HealthRecordExportService.class);
+
+    private static final String CSV_HEADER = "id,petId,vetId,apptId,diagnosis,treatment,notes,createdAt";
+
+    /**
+     * Export formats.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final HealthRecordRepository healthRecordRepository;
+
+    private final HealthRecordMapper healthRecordMapper;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter jsonWriter;
+
+    public HealthRecordExportService(
+        HealthRecordRepository healthRecordRepository,
+        HealthRecordMapper healthRecordMapper,
+        EntityManager entityManager,
+        ObjectMapper objectMapper
+    ) {
+        this.healthRecordRepository = healthRecordRepository;
+        this.healthRecordMapper = healthRecordMapper;
+        this.entityManager = entityManager;
+        // rows are written to a buffered writer shared by the whole export, which must be neither closed nor flushed per row
+        this.jsonWriter = objectMapper
+            .writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write the health records of a pet and/or a vet to an output stream.
+     *
+     * @param petId the id of the pet, or {@code null} for all pets.
+     * @param vetId the id of the vet, or {@code null} for all vets.
+     * @param format the export format.
+     * @param outputStream the stream to write to, it is flushed but not closed.
+     * @throws IOException if the export could not be written.
+     */
+    public void export(Long petId, Long vetId, Format format, OutputStream outputStream) throws IOException {
+        LOG.debug("Request to export HealthRecords of pet {} and vet {} as {}", petId, vetId, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long count = 0;
+        try (Stream<HealthRecord> healthRecords = healthRecordRepository.streamAllByPetIdAndVetId(petId, vetId)) {
+            Iterator<HealthRecord> iterator = healthRecords.iterator();
+            while (iterator.hasNext()) {
+                HealthRecord healthRecord = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(writer, healthRecord);
+                } else {
+                    jsonWriter.writeValue(writer, healthRecordMapper.toDto(healthRecord));
+                    writer.write('\n');
+                }
+                entityManager.detach(healthRecord);
+                count++;
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} HealthRecords", count);
+    }
+
+    private void writeCsv(Writer writer, HealthRecord healthRecord) throws IOException {
+        writer.write(String.valueOf(healthRecord.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(healthRecord.getPetId()));
+        writer.write(',');
+        writer.write(String.valueOf(healthRecord.getVetId()));
+        writer.write(',');
+        writer.write(String.valueOf(healthRecord.getApptId()));
+        writer.write(',');
+        writeCsvField(writer, healthRecord.getDiagnosis());
+        writer.write(',');
+        writeCsvField(writer, healthRecord.getTreatment());
+        writer.write(',');
+        writeCsvField(writer, healthRecord.getNotes());
+        writer.write(',');
+        if (healthRecord.getCreatedAt() != null) {
+            writer.write(healthRecord.getCreatedAt().toString());
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
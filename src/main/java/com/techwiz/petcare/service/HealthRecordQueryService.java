@@ -1,15 +1,20 @@
 package com.techwiz.petcare.service;
 
+import com.techwiz.petcare.aop.replica.ReplicaRead;
 import com.techwiz.petcare.domain.*; // for static metamodels
 import com.techwiz.petcare.domain.HealthRecord;
 import com.techwiz.petcare.repository.HealthRecordRepository;
 import com.techwiz.petcare.service.criteria.HealthRecordCriteria;
 import com.techwiz.petcare.service.dto.HealthRecordDTO;
 import com.techwiz.petcare.service.mapper.HealthRecordMapper;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,6 +47,7 @@ public class HealthRecordQueryService extends QueryService<HealthRecord> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Page<HealthRecordDTO> findByCriteria(HealthRecordCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
@@ -49,11 +55,34 @@ public class HealthRecordQueryService extends QueryService<HealthRecord> {
         return healthRecordRepository.findAll(specification, page).map(healthRecordMapper::toDto);
     }
 
+    /**
+     * Return a {@link Slice} of {@link HealthRecordDTO} which matches the criteria from the database.
+     * One more entity than the page size is fetched to know whether there is a next page, so no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<HealthRecordDTO> findSliceByCriteria(HealthRecordCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<HealthRecord> specification = createSpecification(criteria);
+        List<HealthRecord> healthRecords = healthRecordRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize() + 1).scroll(ScrollPosition.offset(page.getOffset())).getContent()
+        );
+        boolean hasNext = healthRecords.size() > page.getPageSize();
+        if (hasNext) {
+            healthRecords = healthRecords.subList(0, page.getPageSize());
+        }
+        return new SliceImpl<>(healthRecords, page, hasNext).map(healthRecordMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public long countByCriteria(HealthRecordCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
@@ -0,0 +1,126 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.repository.HealthRecordRepository;
+import com.techwiz.petcare.service.dto.HealthRecordDTO;
+import com.techwiz.petcare.service.mapper.HealthRecordMapper;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the full-text search of {@link com.techwiz.petcare.domain.HealthRecord} entities.
+ * <p>
+ * The diagnosis, treatment and notes are searched through the MySQL FULLTEXT index {@code ft_health_record_text}, which
+ * InnoDB maintains on every write. Words shorter than {@code innodb_ft_min_token_size} (3 by default) and stopwords are
+ * not indexed. Deleted and updated rows are only purged from the index when the table is rebuilt, see
+ * {@link #reindex(boolean)}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class HealthRecordSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HealthRecordSearchService.class);
+
+    private final HealthRecordRepository healthRecordRepository;
+
+    private final HealthRecordMapper healthRecordMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Executor taskExecutor;
+
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+
+    public HealthRecordSearchService(
+        HealthRecordRepository healthRecordRepository,
+        HealthRecordMapper healthRecordMapper,
+        JdbcTemplate jdbcTemplate,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.healthRecordRepository = healthRecordRepository;
+        this.healthRecordMapper = healthRecordMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Search the healthRecords whose diagnosis, treatment or notes match a text.
+     *
+     * @param query the words to search.
+     * @param pageable the pagination information, its sort is ignored.
+     * @return the matching healthRecords, most relevant first.
+     */
+    public Page<HealthRecordDTO> search(String query, Pageable pageable) {
+        LOG.debug("Request to search HealthRecords for : {}", query);
+        return healthRecordRepository
+            .searchByText(query.strip(), PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+            .map(healthRecordMapper::toDto);
+    }
+
+    /**
+     * Rebuild the full-text index in the background, to purge the deleted and updated rows after bulk changes.
+     * <p>
+     * This runs {@code OPTIMIZE TABLE health_record}, whose cost depends on the global {@code innodb_optimize_fulltext_only}
+     * setting of the MySQL server:
+     * <ul>
+     *     <li>when it is {@code ON}, only the full-text index is optimized, without blocking the writes to the table, but
+     *     each run handles at most {@code innodb_ft_num_word_optimize} words and may have to be repeated;</li>
+     *     <li>when it is {@code OFF}, the default, InnoDB rebuilds the table by copying it, as it has a full-text index, and
+     *     writes to {@code health_record} are blocked until the copy completes: run it in a maintenance window.</li>
+     * </ul>
+     * As the setting applies to the whole server, it is left to the database administrators: when it is {@code OFF}, the
+     * rebuild only runs if forced.
+     *
+     * @param force whether to rebuild even if the writes to the table are blocked meanwhile.
+     * @return {@code false} if a rebuild is already running.
+     */
+    public boolean reindex(boolean force) {
+        if (!reindexing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskExecutor.execute(() -> rebuildIndex(force));
+        } catch (RuntimeException e) {
+            reindexing.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the full-text index can be rebuilt without blocking the writes to the table.
+     *
+     * @return whether {@code innodb_optimize_fulltext_only} is {@code ON}.
+     */
+    public boolean isOnlineReindex() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select @@global.innodb_optimize_fulltext_only", Boolean.class));
+    }
+
+    private void rebuildIndex(boolean force) {
+        long start = System.currentTimeMillis();
+        LOG.info("Rebuilding the health record full-text index");
+        try {
+            if (!isOnlineReindex()) {
+                if (!force) {
+                    LOG.warn("innodb_optimize_fulltext_only is OFF, the health record full-text index is not rebuilt unless forced");
+                    return;
+                }
+                LOG.warn("innodb_optimize_fulltext_only is OFF, the health_record table is copied and its writes blocked meanwhile");
+            }
+            jdbcTemplate.queryForList("optimize table health_record");
+            LOG.info("Rebuilt the health record full-text index in {} ms", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            LOG.error("Could not rebuild the health record full-text index", e);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+}
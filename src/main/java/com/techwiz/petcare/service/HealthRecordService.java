@@ -7,6 +7,7 @@ import com.techwiz.petcare.service.mapper.HealthRecordMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +24,16 @@ public class HealthRecordService {
 
     private final HealthRecordMapper healthRecordMapper;
 
-    public HealthRecordService(HealthRecordRepository healthRecordRepository, HealthRecordMapper healthRecordMapper) {
+    private final OwnerOverviewService ownerOverviewService;
+
+    public HealthRecordService(
+        HealthRecordRepository healthRecordRepository,
+        HealthRecordMapper healthRecordMapper,
+        OwnerOverviewService ownerOverviewService
+    ) {
         this.healthRecordRepository = healthRecordRepository;
         this.healthRecordMapper = healthRecordMapper;
+        this.ownerOverviewService = ownerOverviewService;
     }
 
     /**
@@ -38,6 +46,7 @@ public class HealthRecordService {
         LOG.debug("Request to save HealthRecord : {}", healthRecordDTO);
         HealthRecord healthRecord = healthRecordMapper.toEntity(healthRecordDTO);
         healthRecord = healthRecordRepository.save(healthRecord);
+        ownerOverviewService.evictForPet(healthRecord.getPetId());
         return healthRecordMapper.toDto(healthRecord);
     }
 
@@ -46,11 +55,19 @@ public class HealthRecordService {
      *
      * @param healthRecordDTO the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
      */
     public HealthRecordDTO update(HealthRecordDTO healthRecordDTO) {
         LOG.debug("Request to update HealthRecord : {}", healthRecordDTO);
+        Optional<HealthRecord> existingHealthRecord = healthRecordRepository.findById(healthRecordDTO.getId());
+        existingHealthRecord.ifPresent(current -> checkVersion(healthRecordDTO, current));
+        Long previousPetId = existingHealthRecord.map(HealthRecord::getPetId).orElse(null);
         HealthRecord healthRecord = healthRecordMapper.toEntity(healthRecordDTO);
-        healthRecord = healthRecordRepository.save(healthRecord);
+        // the update replaces the current version of the health record
+        existingHealthRecord.map(HealthRecord::getVersion).ifPresent(healthRecord::setVersion);
+        // flushed so that the returned version is the one incremented by the update
+        healthRecord = healthRecordRepository.saveAndFlush(healthRecord);
+        ownerOverviewService.evictForPet(previousPetId, healthRecord.getPetId());
         return healthRecordMapper.toDto(healthRecord);
     }
 
@@ -59,6 +76,7 @@ public class HealthRecordService {
      *
      * @param healthRecordDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
      */
     public Optional<HealthRecordDTO> partialUpdate(HealthRecordDTO healthRecordDTO) {
         LOG.debug("Request to partially update HealthRecord : {}", healthRecordDTO);
@@ -66,11 +84,14 @@ public class HealthRecordService {
         return healthRecordRepository
             .findById(healthRecordDTO.getId())
             .map(existingHealthRecord -> {
+                checkVersion(healthRecordDTO, existingHealthRecord);
+                Long previousPetId = existingHealthRecord.getPetId();
                 healthRecordMapper.partialUpdate(existingHealthRecord, healthRecordDTO);
+                ownerOverviewService.evictForPet(previousPetId, existingHealthRecord.getPetId());
 
                 return existingHealthRecord;
             })
-            .map(healthRecordRepository::save)
+            .map(healthRecordRepository::saveAndFlush)
             .map(healthRecordMapper::toDto);
     }
 
@@ -86,6 +107,18 @@ public class HealthRecordService {
         return healthRecordRepository.findById(id).map(healthRecordMapper::toDto);
     }
 
+    /**
+     * Get the version of one health record by id.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of HealthRecord : {}", id);
+        return healthRecordRepository.findById(id).map(HealthRecord::getVersion);
+    }
+
     /**
      * Delete the healthRecord by id.
      *
@@ -93,6 +126,14 @@ public class HealthRecordService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete HealthRecord : {}", id);
+        healthRecordRepository.findById(id).map(HealthRecord::getPetId).ifPresent(ownerOverviewService::evictForPet);
         healthRecordRepository.deleteById(id);
     }
+
+    private static void checkVersion(HealthRecordDTO healthRecordDTO, HealthRecord healthRecord) {
+        // a DTO without a version updates whatever the current version is
+        if (healthRecordDTO.getVersion() != null && !healthRecordDTO.getVersion().equals(healthRecord.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(HealthRecord.class, healthRecord.getId());
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.techwiz.petcare.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque continuation token used by keyset pagination.
+ * <p>
+ * A cursor holds the sort key values of the last entity of a page, the next page starts strictly after them.
+ * Clients must treat it as an opaque string and send it back unchanged.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String[] keys;
+
+    private KeysetCursor(String[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Encode the sort key values of an entity into a cursor.
+     *
+     * @param keys the sort key values, {@code null} values are allowed.
+     * @return the cursor.
+     */
+    public static String encode(Object... keys) {
+        String value = Arrays.stream(keys).map(key -> key == null ? "" : key.toString()).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously returned by {@link #encode(Object...)}.
+     *
+     * @param cursor the cursor sent by the client.
+     * @param size the number of sort keys expected.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the cursor is not a valid token.
+     */
+    public static KeysetCursor decode(String cursor, int size) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = value.split("\\" + SEPARATOR, -1);
+            if (keys.length != size) {
+                throw new InvalidCursorException();
+            }
+            return new KeysetCursor(keys);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public Long getLong(int index) {
+        try {
+            return keys[index].isEmpty() ? null : Long.valueOf(keys[index]);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public Instant getInstant(int index) {
+        try {
+            return keys[index].isEmpty() ? null : Instant.parse(keys[index]);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public ZonedDateTime getZonedDateTime(int index) {
+        try {
+            return keys[index].isEmpty() ? null : ZonedDateTime.parse(keys[index]);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the emails of the {@link MailOutbox}, on a dedicated thread rather than the shared task executor.
+ * <p>
+ * Each poll locks up to a batch of due emails and sends them over a single SMTP connection, then deletes the sent ones
+ * and schedules a retry of the others, with an exponential backoff, in the same transaction. Nodes skip the emails locked
+ * by one another, so every node can run a dispatcher. Full batches are followed by another one without waiting, to drain
+ * bursts of emails.
+ */
+@Service
+public class MailDispatcher implements DisposableBean {
+
+    public static final String MESSAGES_METER_NAME = "mail.outbox.messages";
+    public static final String MESSAGES_METER_RESULT_DIMENSION = "result";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final MailOutbox mailOutbox;
+
+    private final JavaMailSender javaMailSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.Mail.Outbox properties;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer batchTimer;
+
+    private volatile MailOutbox.Backlog backlog = new MailOutbox.Backlog(0, null);
+
+    private ScheduledExecutorService scheduler;
+
+    public MailDispatcher(
+        MailOutbox mailOutbox,
+        JavaMailSender javaMailSender,
+        TransactionTemplate transactionTemplate,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutbox = mailOutbox;
+        this.javaMailSender = javaMailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMail().getOutbox();
+        this.sentCounter = messagesCounter("sent").register(meterRegistry);
+        this.retriedCounter = messagesCounter("retried").register(meterRegistry);
+        this.failedCounter = messagesCounter("failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.outbox.batch")
+            .description("Time to send a batch of emails over one SMTP connection")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", this, dispatcher -> dispatcher.backlog.pending())
+            .description("Emails waiting to be sent")
+            .baseUnit("messages")
+            .register(meterRegistry);
+        Gauge.builder("mail.outbox.lag", this, MailDispatcher::lagSeconds)
+            .description("Age of the oldest email waiting to be sent")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isDispatcherEnabled() || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    private void dispatch() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> sendBatch());
+            } while (sent != null && sent == properties.getBatchSize());
+            backlog = mailOutbox.backlog();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not read the mail outbox: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.error("Could not dispatch the mail outbox", e);
+        }
+    }
+
+    private int sendBatch() {
+        List<MailOutbox.Mail> mails = mailOutbox.lockDue(Instant.now(), properties.getBatchSize());
+        if (mails.isEmpty()) {
+            return 0;
+        }
+        Map<MimeMessage, MailOutbox.Mail> messages = new LinkedHashMap<>();
+        Map<MailOutbox.Mail, String> failures = new HashMap<>();
+        for (MailOutbox.Mail mail : mails) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                failures.put(mail, e.getMessage());
+            }
+        }
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                // one call for the whole batch, so that the SMTP connection is opened once
+                javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(mail -> failures.put(mail, e.getMessage()));
+                }
+                e
+                    .getFailedMessages()
+                    .forEach((message, cause) -> {
+                        MailOutbox.Mail mail = messages.get(message);
+                        if (mail != null) {
+                            failures.put(mail, cause.getMessage());
+                        }
+                    });
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail, e.getMessage()));
+            } finally {
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        List<Long> sent = new ArrayList<>();
+        for (MailOutbox.Mail mail : mails) {
+            if (failures.containsKey(mail)) {
+                recordFailure(mail, failures.get(mail));
+            } else {
+                LOG.debug("Sent email to User '{}'", mail.recipient());
+                sent.add(mail.id());
+            }
+        }
+        if (!sent.isEmpty()) {
+            mailOutbox.delete(sent);
+            sentCounter.increment(sent.size());
+        }
+        return mails.size();
+    }
+
+    private MimeMessage toMimeMessage(MailOutbox.Mail mail) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.multipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.recipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mail.subject());
+        message.setText(mail.content(), mail.html());
+        return mimeMessage;
+    }
+
+    private void recordFailure(MailOutbox.Mail mail, String error) {
+        int attempts = mail.attempts() + 1;
+        if (attempts >= properties.getMaxAttempts()) {
+            LOG.warn("Email could not be sent to user '{}' after {} attempts: {}", mail.recipient(), attempts, error);
+            mailOutbox.fail(mail.id(), attempts, error);
+            failedCounter.increment();
+        } else {
+            LOG.debug("Email could not be sent to user '{}', attempt {}: {}", mail.recipient(), attempts, error);
+            mailOutbox.retry(mail.id(), attempts, Instant.now().plus(backoff(attempts)), error);
+            retriedCounter.increment();
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private double lagSeconds() {
+        Instant oldest = backlog.oldestCreatedAt();
+        return oldest != null ? Duration.between(oldest, Instant.now()).toMillis() / 1000.0 : 0;
+    }
+
+    private Counter.Builder messagesCounter(String result) {
+        return Counter.builder(MESSAGES_METER_NAME)
+            .description("Emails of the outbox, by outcome of their last attempt")
+            .baseUnit("messages")
+            .tag(MESSAGES_METER_RESULT_DIMENSION, result);
+    }
+}
@@ -0,0 +1,164 @@
+package com.techwiz.petcare.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The {@code mail_outbox} table, holding the emails waiting to be sent by {@link MailDispatcher}.
+ * <p>
+ * Emails are queued in the transaction that triggers them, so they are sent if and only if that transaction commits,
+ * and survive a restart of the node. Sent emails are deleted; emails that could not be sent after the maximum number of
+ * attempts are kept with the {@link Status#FAILED} status.
+ */
+@Service
+@Transactional
+public class MailOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /**
+     * Status of a queued email.
+     */
+    public enum Status {
+        PENDING,
+        FAILED,
+    }
+
+    /**
+     * A queued email.
+     */
+    public record Mail(long id, String recipient, String subject, String content, boolean multipart, boolean html, int attempts) {}
+
+    /**
+     * The pending emails: their number and the creation time of the oldest one, {@code null} when there is none.
+     */
+    public record Backlog(long pending, Instant oldestCreatedAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MailOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Queue an email, in the current transaction if there is one.
+     *
+     * @param to the recipient.
+     * @param subject the subject.
+     * @param content the body.
+     * @param isMultipart whether the message is multipart.
+     * @param isHtml whether the body is HTML.
+     */
+    public void enqueue(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(
+            "insert into mail_outbox (recipient, subject, content, multipart, html, status, attempts, next_attempt_at, created_at)" +
+            " values (?, ?, ?, ?, ?, ?, 0, ?, ?)",
+            to,
+            subject,
+            content,
+            isMultipart,
+            isHtml,
+            Status.PENDING.name(),
+            now,
+            now
+        );
+    }
+
+    /**
+     * Lock the pending emails due for an attempt until the end of the current transaction, skipping the ones already locked
+     * by another node.
+     *
+     * @param now the current time.
+     * @param limit the maximum number of emails.
+     * @return the due emails, oldest first.
+     */
+    public List<Mail> lockDue(Instant now, int limit) {
+        return jdbcTemplate.query(
+            "select id, recipient, subject, content, multipart, html, attempts from mail_outbox" +
+            " where status = ? and next_attempt_at <= ? order by next_attempt_at, id limit ? for update skip locked",
+            (rs, rowNum) ->
+                new Mail(
+                    rs.getLong("id"),
+                    rs.getString("recipient"),
+                    rs.getString("subject"),
+                    rs.getString("content"),
+                    rs.getBoolean("multipart"),
+                    rs.getBoolean("html"),
+                    rs.getInt("attempts")
+                ),
+            Status.PENDING.name(),
+            Timestamp.from(now),
+            limit
+        );
+    }
+
+    /**
+     * Remove sent emails.
+     *
+     * @param ids the ids of the emails.
+     */
+    public void delete(List<Long> ids) {
+        jdbcTemplate.batchUpdate("delete from mail_outbox where id = ?", ids.stream().map(id -> new Object[] { id }).toList());
+    }
+
+    /**
+     * Record a failed attempt to send an email, and when to try again.
+     *
+     * @param id the id of the email.
+     * @param attempts the number of attempts so far.
+     * @param nextAttemptAt the time of the next attempt.
+     * @param error the reason of the failure.
+     */
+    public void retry(long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(
+            "update mail_outbox set attempts = ?, next_attempt_at = ?, last_error = ? where id = ?",
+            attempts,
+            Timestamp.from(nextAttemptAt),
+            truncate(error),
+            id
+        );
+    }
+
+    /**
+     * Record the last failed attempt to send an email, which will not be tried again.
+     *
+     * @param id the id of the email.
+     * @param attempts the number of attempts.
+     * @param error the reason of the failure.
+     */
+    public void fail(long id, int attempts, String error) {
+        jdbcTemplate.update(
+            "update mail_outbox set status = ?, attempts = ?, last_error = ? where id = ?",
+            Status.FAILED.name(),
+            attempts,
+            truncate(error),
+            id
+        );
+    }
+
+    /**
+     * Get the number and age of the pending emails.
+     *
+     * @return the backlog.
+     */
+    @Transactional(readOnly = true)
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject(
+            "select count(*), min(created_at) from mail_outbox where status = ?",
+            (rs, rowNum) -> {
+                Timestamp oldest = rs.getTimestamp(2);
+                return new Backlog(rs.getLong(1), oldest != null ? oldest.toInstant() : null);
+            },
+            Status.PENDING.name()
+        );
+    }
+
+    private String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,192 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.cache.CacheInvalidationService;
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.HealthRecord;
+import com.techwiz.petcare.domain.Pet;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
+import com.techwiz.petcare.repository.AppointmentRepository;
+import com.techwiz.petcare.repository.HealthRecordRepository;
+import com.techwiz.petcare.repository.PetRepository;
+import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.service.dto.OwnerOverviewDTO;
+import com.techwiz.petcare.service.dto.PetOverviewDTO;
+import com.techwiz.petcare.service.mapper.AppointmentMapper;
+import com.techwiz.petcare.service.mapper.HealthRecordMapper;
+import com.techwiz.petcare.service.mapper.PetMapper;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service building the overview of an owner: their pets, with the next appointments and the latest health record of each.
+ * <p>
+ * Whatever the number of pets, the overview is read with one query for the pets and one query per batch of
+ * {@link #PET_ID_BATCH_SIZE} pets for each of the appointments and the health records. It is cached per owner, and the
+ * services writing pets, appointments and health records evict it with {@link #evict(Long)} or {@link #evictForPet(Long)}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OwnerOverviewService {
+
+    public static final String OWNER_OVERVIEW_CACHE = "ownerOverview";
+
+    public static final int NEXT_APPOINTMENTS_PER_PET = 3;
+
+    static final int PET_ID_BATCH_SIZE = 500;
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerOverviewService.class);
+
+    private final PetRepository petRepository;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final HealthRecordRepository healthRecordRepository;
+
+    private final PetMapper petMapper;
+
+    private final AppointmentMapper appointmentMapper;
+
+    private final HealthRecordMapper healthRecordMapper;
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationService cacheInvalidationService;
+
+    public OwnerOverviewService(
+        PetRepository petRepository,
+        AppointmentRepository appointmentRepository,
+        HealthRecordRepository healthRecordRepository,
+        PetMapper petMapper,
+        AppointmentMapper appointmentMapper,
+        HealthRecordMapper healthRecordMapper,
+        CacheManager cacheManager,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        this.petRepository = petRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.healthRecordRepository = healthRecordRepository;
+        this.petMapper = petMapper;
+        this.appointmentMapper = appointmentMapper;
+        this.healthRecordMapper = healthRecordMapper;
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationService = cacheInvalidationService;
+    }
+
+    /**
+     * Get the overview of an owner.
+     *
+     * @param ownerId the id of the owner.
+     * @return the pets of the owner, ordered by id, with their next {@link #NEXT_APPOINTMENTS_PER_PET} appointments that
+     * are not cancelled and their latest health record.
+     */
+    @Cacheable(cacheNames = OWNER_OVERVIEW_CACHE, key = "#ownerId")
+    public OwnerOverviewDTO getOverview(Long ownerId) {
+        LOG.debug("Request to get the overview of Owner : {}", ownerId);
+        Map<Long, PetOverviewDTO> petOverviews = new LinkedHashMap<>();
+        for (Pet pet : petRepository.findAllByOwnerIdOrderByIdAsc(ownerId)) {
+            PetOverviewDTO petOverview = new PetOverviewDTO();
+            petOverview.setPet(petMapper.toDto(pet));
+            petOverviews.put(pet.getId(), petOverview);
+        }
+        List<Long> petIds = List.copyOf(petOverviews.keySet());
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int from = 0; from < petIds.size(); from += PET_ID_BATCH_SIZE) {
+            List<Long> batch = petIds.subList(from, Math.min(from + PET_ID_BATCH_SIZE, petIds.size()));
+            for (Appointment appointment : appointmentRepository.findUpcomingByPetIds(batch, now, ApptStatus.CANCELLED)) {
+                List<AppointmentDTO> nextAppointments = petOverviews.get(appointment.getPetId()).getNextAppointments();
+                if (nextAppointments.size() < NEXT_APPOINTMENTS_PER_PET) {
+                    nextAppointments.add(appointmentMapper.toDto(appointment));
+                }
+            }
+            for (HealthRecord healthRecord : healthRecordRepository.findLatestByPetIds(batch)) {
+                petOverviews.get(healthRecord.getPetId()).setLatestHealthRecord(healthRecordMapper.toDto(healthRecord));
+            }
+        }
+        OwnerOverviewDTO overview = new OwnerOverviewDTO();
+        overview.setOwnerId(ownerId);
+        overview.getPets().addAll(petOverviews.values());
+        return overview;
+    }
+
+    /**
+     * Evict the overview of an owner, on this node and on the others, once the current transaction commits.
+     *
+     * @param ownerId the id of the owner, ignored if {@code null}.
+     */
+    public void evict(Long ownerId) {
+        if (ownerId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // evicting before the commit would let a concurrent request cache the overview again from the old data
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictLocally(ownerId);
+                    }
+                }
+            );
+        } else {
+            evictLocally(ownerId);
+        }
+        cacheInvalidationService.broadcastCacheEviction(OWNER_OVERVIEW_CACHE, ownerId);
+    }
+
+    /**
+     * Evict the overview of the owner of a pet, once the current transaction commits.
+     *
+     * @param petId the id of the pet, ignored if {@code null}.
+     */
+    public void evictForPet(Long petId) {
+        if (petId != null) {
+            petRepository.findById(petId).map(Pet::getOwnerId).ifPresent(this::evict);
+        }
+    }
+
+    /**
+     * Evict the overviews of the owners of a pet before and after a change, if they differ.
+     *
+     * @param previousOwnerId the id of the owner before the change.
+     * @param ownerId the id of the owner after the change.
+     */
+    public void evict(Long previousOwnerId, Long ownerId) {
+        evict(previousOwnerId);
+        if (!Objects.equals(previousOwnerId, ownerId)) {
+            evict(ownerId);
+        }
+    }
+
+    /**
+     * Evict the overviews of the owners of the pets an appointment or a health record belonged to before and after a
+     * change, if they differ.
+     *
+     * @param previousPetId the id of the pet before the change.
+     * @param petId the id of the pet after the change.
+     */
+    public void evictForPet(Long previousPetId, Long petId) {
+        evictForPet(previousPetId);
+        if (!Objects.equals(previousPetId, petId)) {
+            evictForPet(petId);
+        }
+    }
+
+    private void evictLocally(Long ownerId) {
+        Cache cache = cacheManager.getCache(OWNER_OVERVIEW_CACHE);
+        if (cache != null) {
+            cache.evictIfPresent(ownerId);
+        }
+    }
+}
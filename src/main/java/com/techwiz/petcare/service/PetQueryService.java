@@ -1,18 +1,27 @@
 package com.techwiz.petcare.service;
 
+import com.techwiz.petcare.aop.replica.ReplicaRead;
 import com.techwiz.petcare.domain.*; // for static metamodels
 import com.techwiz.petcare.domain.Pet;
 import com.techwiz.petcare.repository.PetRepository;
 import com.techwiz.petcare.service.criteria.PetCriteria;
+import com.techwiz.petcare.service.dto.CursorPage;
 import com.techwiz.petcare.service.dto.PetDTO;
 import com.techwiz.petcare.service.mapper.PetMapper;
+import java.time.Instant;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import tech.jhipster.service.QueryService;
 
 /**
@@ -27,6 +36,9 @@ public class PetQueryService extends QueryService<Pet> {
 
     private static final Logger LOG = LoggerFactory.getLogger(PetQueryService.class);
 
+    // ascending order puts null createdAt values first, which createKeysetSpecification relies on
+    private static final Sort KEYSET_SORT = Sort.by(Pet_.CREATED_AT, Pet_.ID);
+
     private final PetRepository petRepository;
 
     private final PetMapper petMapper;
@@ -42,18 +54,73 @@ public class PetQueryService extends QueryService<Pet> {
      * @param page The page, which should be returned.
      * @return the matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Page<PetDTO> findByCriteria(PetCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        Long ownerId = cacheableOwnerId(criteria);
+        if (ownerId != null) {
+            return petRepository.findAllByOwnerId(ownerId, page).map(petMapper::toDto);
+        }
         final Specification<Pet> specification = createSpecification(criteria);
         return petRepository.findAll(specification, page).map(petMapper::toDto);
     }
 
+    /**
+     * Return a {@link CursorPage} of {@link PetDTO} which matches the criteria from the database,
+     * ordered by {@code createdAt} then {@code id} and starting after the given cursor.
+     * No count query is issued, and the cost of a page does not depend on how far the client has scrolled.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The cursor of the page to return, or {@code null} for the first page.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public CursorPage<PetDTO> findByCriteria(PetCriteria criteria, String cursor, int size) {
+        LOG.debug("find by criteria : {}, cursor: {}, size: {}", criteria, cursor, size);
+        Specification<Pet> specification = createSpecification(criteria);
+        if (StringUtils.hasText(cursor)) {
+            specification = specification.and(createKeysetSpecification(KeysetCursor.decode(cursor, 2)));
+        }
+        List<Pet> pets = petRepository.findBy(specification, query -> query.sortBy(KEYSET_SORT).limit(size + 1).all());
+        String nextCursor = null;
+        if (pets.size() > size) {
+            pets = pets.subList(0, size);
+            Pet last = pets.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(petMapper.toDto(pets), nextCursor);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link PetDTO} which matches the criteria from the database.
+     * One more entity than the page size is fetched to know whether there is a next page, so no count query is issued.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @ReplicaRead
+    @Transactional(readOnly = true)
+    public Slice<PetDTO> findSliceByCriteria(PetCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Pet> specification = createSpecification(criteria);
+        List<Pet> pets = petRepository.findBy(specification, query ->
+            query.sortBy(page.getSort()).limit(page.getPageSize() + 1).scroll(ScrollPosition.offset(page.getOffset())).getContent()
+        );
+        boolean hasNext = pets.size() > page.getPageSize();
+        if (hasNext) {
+            pets = pets.subList(0, page.getPageSize());
+        }
+        return new SliceImpl<>(pets, page, hasNext).map(petMapper::toDto);
+    }
+
     /**
      * Return the number of matching entities in the database.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public long countByCriteria(PetCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
@@ -85,4 +152,44 @@ public class PetQueryService extends QueryService<Pet> {
         }
         return specification;
     }
+
+    /**
+     * Function to convert a {@link KeysetCursor} to a {@link Specification} matching the entities after it.
+     * @param cursor The cursor holding the {@code createdAt} and {@code id} of the last entity of the previous page.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Pet> createKeysetSpecification(KeysetCursor cursor) {
+        Instant createdAt = cursor.getInstant(0);
+        Long id = cursor.getLong(1);
+        if (id == null) {
+            throw new InvalidCursorException();
+        }
+        if (createdAt == null) {
+            return (root, query, builder) ->
+                builder.or(
+                    builder.isNotNull(root.get(Pet_.createdAt)),
+                    builder.and(builder.isNull(root.get(Pet_.createdAt)), builder.greaterThan(root.get(Pet_.id), id))
+                );
+        }
+        return (root, query, builder) ->
+            builder.or(
+                builder.greaterThan(root.get(Pet_.createdAt), createdAt),
+                builder.and(builder.equal(root.get(Pet_.createdAt), createdAt), builder.greaterThan(root.get(Pet_.id), id))
+            );
+    }
+
+    /**
+     * Function to recognize the criteria served from the {@link PetRepository#PETS_BY_OWNER_CACHE} query cache region.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the owner id if the criteria only filters on {@code ownerId.equals}, {@code null} otherwise.
+     */
+    protected Long cacheableOwnerId(PetCriteria criteria) {
+        if (criteria == null || criteria.getOwnerId() == null || criteria.getOwnerId().getEquals() == null) {
+            return null;
+        }
+        PetCriteria shape = new PetCriteria();
+        shape.ownerId().setEquals(criteria.getOwnerId().getEquals());
+        shape.setDistinct(criteria.getDistinct());
+        return shape.equals(criteria) ? criteria.getOwnerId().getEquals() : null;
+    }
 }
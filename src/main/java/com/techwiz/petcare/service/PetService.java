@@ -7,6 +7,7 @@ import com.techwiz.petcare.service.mapper.PetMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +24,20 @@ public class PetService {
 
     private final PetMapper petMapper;
 
-    public PetService(PetRepository petRepository, PetMapper petMapper) {
+    private final OwnerOverviewService ownerOverviewService;
+
+    private final PetSuggestionIndex petSuggestionIndex;
+
+    public PetService(
+        PetRepository petRepository,
+        PetMapper petMapper,
+        OwnerOverviewService ownerOverviewService,
+        PetSuggestionIndex petSuggestionIndex
+    ) {
         this.petRepository = petRepository;
         this.petMapper = petMapper;
+        this.ownerOverviewService = ownerOverviewService;
+        this.petSuggestionIndex = petSuggestionIndex;
     }
 
     /**
@@ -38,6 +50,8 @@ public class PetService {
         LOG.debug("Request to save Pet : {}", petDTO);
         Pet pet = petMapper.toEntity(petDTO);
         pet = petRepository.save(pet);
+        ownerOverviewService.evict(pet.getOwnerId());
+        petSuggestionIndex.update(pet);
         return petMapper.toDto(pet);
     }
 
@@ -46,11 +60,20 @@ public class PetService {
      *
      * @param petDTO the entity to save.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
      */
     public PetDTO update(PetDTO petDTO) {
         LOG.debug("Request to update Pet : {}", petDTO);
+        Optional<Pet> existingPet = petRepository.findById(petDTO.getId());
+        existingPet.ifPresent(current -> checkVersion(petDTO, current));
+        Long previousOwnerId = existingPet.map(Pet::getOwnerId).orElse(null);
         Pet pet = petMapper.toEntity(petDTO);
-        pet = petRepository.save(pet);
+        // the update replaces the current version of the pet
+        existingPet.map(Pet::getVersion).ifPresent(pet::setVersion);
+        // flushed so that the returned version is the one incremented by the update
+        pet = petRepository.saveAndFlush(pet);
+        ownerOverviewService.evict(previousOwnerId, pet.getOwnerId());
+        petSuggestionIndex.update(pet);
         return petMapper.toDto(pet);
     }
 
@@ -59,6 +82,7 @@ public class PetService {
      *
      * @param petDTO the entity to update partially.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the version of the DTO is set and is not the current one.
      */
     public Optional<PetDTO> partialUpdate(PetDTO petDTO) {
         LOG.debug("Request to partially update Pet : {}", petDTO);
@@ -66,11 +90,15 @@ public class PetService {
         return petRepository
             .findById(petDTO.getId())
             .map(existingPet -> {
+                checkVersion(petDTO, existingPet);
+                Long previousOwnerId = existingPet.getOwnerId();
                 petMapper.partialUpdate(existingPet, petDTO);
+                ownerOverviewService.evict(previousOwnerId, existingPet.getOwnerId());
+                petSuggestionIndex.update(existingPet);
 
                 return existingPet;
             })
-            .map(petRepository::save)
+            .map(petRepository::saveAndFlush)
             .map(petMapper::toDto);
     }
 
@@ -86,6 +114,18 @@ public class PetService {
         return petRepository.findById(id).map(petMapper::toDto);
     }
 
+    /**
+     * Get the version of one pet by id.
+     *
+     * @param id the id of the entity.
+     * @return the version of the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        LOG.debug("Request to get the version of Pet : {}", id);
+        return petRepository.findById(id).map(Pet::getVersion);
+    }
+
     /**
      * Delete the pet by id.
      *
@@ -93,6 +133,15 @@ public class PetService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Pet : {}", id);
+        ownerOverviewService.evictForPet(id);
         petRepository.deleteById(id);
+        petSuggestionIndex.remove(id);
+    }
+
+    private static void checkVersion(PetDTO petDTO, Pet pet) {
+        // a DTO without a version updates whatever the current version is
+        if (petDTO.getVersion() != null && !petDTO.getVersion().equals(pet.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Pet.class, pet.getId());
+        }
     }
 }
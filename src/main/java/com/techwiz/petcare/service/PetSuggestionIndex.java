@@ -0,0 +1,296 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.cache.CacheInvalidationService;
+import com.techwiz.petcare.domain.Pet;
+import com.techwiz.petcare.repository.PetRepository;
+import com.techwiz.petcare.repository.PetRepository.PetName;
+import com.techwiz.petcare.service.dto.PetSuggestionDTO;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the words of the name, species and breed of every pet, serving typeahead suggestions without a
+ * {@code LIKE '%...%'} scan of the {@code pet} table.
+ * <p>
+ * Words are lower-cased and stripped of accents, and kept in sorted maps from word to pet ids: one for all the pets and
+ * one per owner. The pets matching a prefix are a range of such a map, so a lookup costs {@code O(log n)} plus the
+ * number of candidates. The index is loaded from the {@code pet} table when the application is ready (or on first use if
+ * the table was not available yet) and is kept up to date by {@link PetService} once its transactions commit. The pets
+ * changed by the other nodes are read again from the database when their eviction is received.
+ */
+@Service
+public class PetSuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final Logger LOG = LoggerFactory.getLogger(PetSuggestionIndex.class);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::rank)
+        .thenComparingInt(match -> match.entry().name().length())
+        .thenComparing(match -> match.entry().name())
+        .thenComparing(match -> match.entry().pet().getId());
+
+    private final PetRepository petRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final NavigableMap<String, Set<Long>> words = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, NavigableMap<String, Set<Long>>> wordsByOwner = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    public PetSuggestionIndex(PetRepository petRepository, CacheInvalidationService cacheInvalidationService) {
+        this.petRepository = petRepository;
+        cacheInvalidationService.onRemoteEntityEviction(Pet.class, this::reloadRemoteChange);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not load the pet suggestion index, it will be loaded on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Suggest the pets having a word starting with each word of a query, in their name, species or breed.
+     *
+     * @param query the text typed so far.
+     * @param ownerId the id of the owner of the pets, or {@code null} for all pets.
+     * @param size the maximum number of suggestions, capped at {@link #MAX_SUGGESTIONS}.
+     * @return the best matches first: the pets whose name starts with the query, then the pets whose name matches every
+     * word, then the others, the shortest names first.
+     */
+    public List<PetSuggestionDTO> suggest(String query, Long ownerId, int size) {
+        ensureLoaded();
+        String normalizedQuery = normalize(query);
+        List<String> queryWords = words(normalizedQuery);
+        int limit = Math.min(size, MAX_SUGGESTIONS);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        NavigableMap<String, Set<Long>> index = ownerId != null ? wordsByOwner.get(ownerId) : words;
+        if (index == null) {
+            return List.of();
+        }
+        // the longest word is the most selective one, the candidates it yields are checked against the others
+        String prefix = queryWords.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        PriorityQueue<Match> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        Set<Long> seen = new HashSet<>();
+        for (Set<Long> petIds : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (Long petId : petIds) {
+                Entry entry = entries.get(petId);
+                if (entry == null || !seen.add(petId)) {
+                    continue;
+                }
+                int rank = rank(entry, normalizedQuery, queryWords);
+                if (rank < 0) {
+                    continue;
+                }
+                best.add(new Match(entry, rank));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(BEST_FIRST);
+        return matches.stream().map(match -> match.entry().pet()).toList();
+    }
+
+    /**
+     * Index a persisted pet, once the current transaction commits.
+     *
+     * @param pet the persisted pet.
+     */
+    public void update(Pet pet) {
+        PetSuggestionDTO suggestion = new PetSuggestionDTO(pet.getId(), pet.getOwnerId(), pet.getName(), pet.getSpecies(), pet.getBreed());
+        afterCommit(() -> apply(suggestion.getId(), suggestion));
+    }
+
+    /**
+     * Remove a pet from the index, once the current transaction commits.
+     *
+     * @param petId the id of the pet.
+     */
+    public void remove(Long petId) {
+        afterCommit(() -> apply(petId, null));
+    }
+
+    /**
+     * Read again a pet changed by another node, or the whole table when all the pets may have changed.
+     */
+    private void reloadRemoteChange(Long petId) {
+        if (petId == null) {
+            synchronized (this) {
+                entries.clear();
+                words.clear();
+                wordsByOwner.clear();
+                loaded = false;
+            }
+            return;
+        }
+        // the pet was evicted from the second-level cache, so this reads the committed change
+        PetSuggestionDTO suggestion = petRepository
+            .findById(petId)
+            .map(pet -> new PetSuggestionDTO(pet.getId(), pet.getOwnerId(), pet.getName(), pet.getSpecies(), pet.getBreed()))
+            .orElse(null);
+        apply(petId, suggestion);
+    }
+
+    private synchronized void apply(Long petId, PetSuggestionDTO suggestion) {
+        if (!loaded) {
+            // the committed change will be read with the rest of the table
+            return;
+        }
+        Entry previous = entries.remove(petId);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (suggestion != null) {
+            index(entry(suggestion));
+        }
+    }
+
+    private int rank(Entry entry, String normalizedQuery, List<String> queryWords) {
+        if (entry.name().startsWith(normalizedQuery)) {
+            return 0;
+        }
+        boolean allInName = true;
+        for (String queryWord : queryWords) {
+            if (matches(entry.nameWords(), queryWord)) {
+                continue;
+            }
+            if (!matches(entry.otherWords(), queryWord)) {
+                return -1;
+            }
+            allInName = false;
+        }
+        return allInName ? 1 : 2;
+    }
+
+    private boolean matches(List<String> words, String prefix) {
+        for (String word : words) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Entry entry(PetSuggestionDTO pet) {
+        String name = normalize(pet.getName());
+        List<String> otherWords = new ArrayList<>(words(normalize(pet.getSpecies())));
+        otherWords.addAll(words(normalize(pet.getBreed())));
+        return new Entry(pet, name, words(name), List.copyOf(otherWords));
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.pet().getId(), entry);
+        NavigableMap<String, Set<Long>> ownerWords = wordsByOwner.computeIfAbsent(entry.pet().getOwnerId(), ownerId ->
+            new ConcurrentSkipListMap<>()
+        );
+        for (String word : entry.words()) {
+            words.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(entry.pet().getId());
+            ownerWords.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(entry.pet().getId());
+        }
+    }
+
+    private void unindex(Entry entry) {
+        NavigableMap<String, Set<Long>> ownerWords = wordsByOwner.get(entry.pet().getOwnerId());
+        for (String word : entry.words()) {
+            removeWord(words, word, entry.pet().getId());
+            if (ownerWords != null) {
+                removeWord(ownerWords, word, entry.pet().getId());
+            }
+        }
+        if (ownerWords != null && ownerWords.isEmpty()) {
+            wordsByOwner.remove(entry.pet().getOwnerId());
+        }
+    }
+
+    private void removeWord(NavigableMap<String, Set<Long>> index, String word, Long petId) {
+        index.computeIfPresent(word, (key, petIds) -> {
+            petIds.remove(petId);
+            return petIds.isEmpty() ? null : petIds;
+        });
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT).strip();
+    }
+
+    private static List<String> words(String normalizedText) {
+        return WORD_SEPARATOR.splitAsStream(normalizedText).filter(word -> !word.isEmpty()).distinct().toList();
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        change.run();
+                    }
+                }
+            );
+        } else {
+            change.run();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            LOG.debug("Loading pet suggestion index");
+            for (PetName pet : petRepository.findAllProjectedBy()) {
+                index(entry(new PetSuggestionDTO(pet.getId(), pet.getOwnerId(), pet.getName(), pet.getSpecies(), pet.getBreed())));
+            }
+            loaded = true;
+            LOG.info("Pet suggestion index loaded with {} pets", entries.size());
+        }
+    }
+
+    private record Entry(PetSuggestionDTO pet, String name, List<String> nameWords, List<String> otherWords) {
+        List<String> words() {
+            List<String> words = new ArrayList<>(nameWords);
+            words.addAll(otherWords);
+            return words;
+        }
+    }
+
+    private record Match(Entry entry, int rank) {}
+}
@@ -0,0 +1,234 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.cache.CacheInvalidationService;
+import com.techwiz.petcare.config.ApplicationProperties;
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.domain.enumeration.ApptStatus;
+import com.techwiz.petcare.repository.AppointmentRepository;
+import com.techwiz.petcare.repository.AppointmentRepository.AppointmentSlot;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory index of the booked time slots of every vet, used to reject double bookings without querying the database.
+ * <p>
+ * Each vet owns a map of appointment start times sorted by time, so a conflict check is a floor/ceiling lookup in
+ * {@code O(log n)}. The index is loaded from the {@code appointment} table when the application is ready (or on first use
+ * if the table was not available yet) and is kept up to date by {@link AppointmentService}. Changes made inside a
+ * transaction are reverted if that transaction rolls back. Changes committed by the other nodes are reloaded once they
+ * reach this node through the {@link CacheInvalidationService}.
+ * <p>
+ * As those changes arrive with a delay, the index rejects conflicting bookings without querying the database, but a
+ * slot it finds free is still checked in the database under the booking lock of the vet before it is written, see
+ * {@link AppointmentService}.
+ */
+@Service
+public class VetAvailabilityIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VetAvailabilityIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Duration slotDuration;
+
+    private final Map<Long, NavigableMap<Instant, Long>> slotsByVet = new ConcurrentHashMap<>();
+
+    private final Map<Long, Slot> slotsByAppointment = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    public VetAvailabilityIndex(
+        AppointmentRepository appointmentRepository,
+        ApplicationProperties applicationProperties,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.slotDuration = applicationProperties.getAppointment().getSlotDuration();
+        cacheInvalidationService.onRemoteEntityEviction(Appointment.class, this::reloadRemoteChange);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            ensureLoaded();
+        } catch (DataAccessException e) {
+            LOG.warn("Could not load the vet availability index, it will be loaded on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether a vet is free at the given time.
+     *
+     * @param vetId the id of the vet.
+     * @param apptTime the start of the appointment.
+     * @param appointmentId the id of the appointment being moved, or {@code null} for a new appointment.
+     * @return {@code true} if no other appointment of this vet overlaps the slot.
+     */
+    public boolean isAvailable(Long vetId, ZonedDateTime apptTime, Long appointmentId) {
+        ensureLoaded();
+        NavigableMap<Instant, Long> slots = slotsByVet.get(vetId);
+        if (slots == null) {
+            return true;
+        }
+        synchronized (slots) {
+            return !conflicts(slots, apptTime.toInstant(), appointmentId);
+        }
+    }
+
+    /**
+     * Record the slot of a persisted appointment, releasing it if the appointment is cancelled.
+     *
+     * @param appointment the persisted appointment.
+     * @return {@code false} if the slot overlaps another appointment of the same vet, in which case the index is unchanged.
+     */
+    public boolean book(Appointment appointment) {
+        ensureLoaded();
+        if (appointment.getStatus() == ApptStatus.CANCELLED) {
+            release(appointment.getId());
+            return true;
+        }
+        Long appointmentId = appointment.getId();
+        Slot slot = new Slot(appointment.getVetId(), appointment.getApptTime().toInstant());
+        Slot previous = slotsByAppointment.get(appointmentId);
+        if (slot.equals(previous)) {
+            return true;
+        }
+        NavigableMap<Instant, Long> slots = slotsByVet.computeIfAbsent(slot.vetId(), vetId -> new TreeMap<>());
+        synchronized (slots) {
+            if (conflicts(slots, slot.start(), appointmentId)) {
+                return false;
+            }
+            slots.put(slot.start(), appointmentId);
+        }
+        // the new slot is taken before the old one is freed, so a moved appointment never leaves a window open
+        slotsByAppointment.put(appointmentId, slot);
+        if (previous != null) {
+            removeSlot(previous, appointmentId);
+        }
+        onRollback(() -> {
+            removeSlot(slot, appointmentId);
+            if (previous != null) {
+                putSlot(previous, appointmentId);
+            } else {
+                slotsByAppointment.remove(appointmentId);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Free the slot of an appointment.
+     *
+     * @param appointmentId the id of the appointment.
+     */
+    public void release(Long appointmentId) {
+        ensureLoaded();
+        Slot previous = slotsByAppointment.remove(appointmentId);
+        if (previous != null) {
+            removeSlot(previous, appointmentId);
+            onRollback(() -> putSlot(previous, appointmentId));
+        }
+    }
+
+    private void reloadRemoteChange(Long appointmentId) {
+        if (appointmentId == null) {
+            synchronized (this) {
+                loaded = false;
+                slotsByVet.clear();
+                slotsByAppointment.clear();
+            }
+            load();
+            return;
+        }
+        if (!loaded) {
+            // the change is read with the whole index
+            return;
+        }
+        // the appointment was evicted from the second-level cache, so this reads the committed change
+        Optional<Slot> current = appointmentRepository
+            .findById(appointmentId)
+            .filter(appointment -> appointment.getStatus() != ApptStatus.CANCELLED)
+            .filter(appointment -> appointment.getVetId() != null && appointment.getApptTime() != null)
+            .map(appointment -> new Slot(appointment.getVetId(), appointment.getApptTime().toInstant()));
+        Slot previous = slotsByAppointment.remove(appointmentId);
+        if (previous != null) {
+            removeSlot(previous, appointmentId);
+        }
+        current.ifPresent(slot -> putSlot(slot, appointmentId));
+    }
+
+    private boolean conflicts(NavigableMap<Instant, Long> slots, Instant start, Long appointmentId) {
+        Map.Entry<Instant, Long> before = slots.floorEntry(start);
+        if (before != null && !Objects.equals(before.getValue(), appointmentId) && before.getKey().plus(slotDuration).isAfter(start)) {
+            return true;
+        }
+        Map.Entry<Instant, Long> after = slots.higherEntry(start);
+        return after != null && !Objects.equals(after.getValue(), appointmentId) && start.plus(slotDuration).isAfter(after.getKey());
+    }
+
+    private void putSlot(Slot slot, Long appointmentId) {
+        NavigableMap<Instant, Long> slots = slotsByVet.computeIfAbsent(slot.vetId(), vetId -> new TreeMap<>());
+        synchronized (slots) {
+            slots.put(slot.start(), appointmentId);
+        }
+        slotsByAppointment.put(appointmentId, slot);
+    }
+
+    private void removeSlot(Slot slot, Long appointmentId) {
+        NavigableMap<Instant, Long> slots = slotsByVet.get(slot.vetId());
+        if (slots != null) {
+            synchronized (slots) {
+                slots.remove(slot.start(), appointmentId);
+            }
+        }
+    }
+
+    private void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            undo.run();
+                        }
+                    }
+                }
+            );
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            LOG.debug("Loading vet availability index");
+            for (AppointmentSlot appointment : appointmentRepository.findAllByStatusIsNullOrStatusNot(ApptStatus.CANCELLED)) {
+                putSlot(new Slot(appointment.getVetId(), appointment.getApptTime().toInstant()), appointment.getId());
+            }
+            loaded = true;
+            LOG.info("Vet availability index loaded with {} appointments", slotsByAppointment.size());
+        }
+    }
+
+    private record Slot(Long vetId, Instant start) {}
+}
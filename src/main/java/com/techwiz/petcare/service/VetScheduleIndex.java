@@ -0,0 +1,275 @@
+package com.techwiz.petcare.service;
+
+import com.techwiz.petcare.cache.CacheInvalidationService;
+import com.techwiz.petcare.config.ApplicationProperties;
+import com.techwiz.petcare.domain.Appointment;
+import com.techwiz.petcare.repository.AppointmentRepository;
+import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.service.mapper.AppointmentMapper;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory projection of the daily schedule of every vet, serving the vet day view without querying the database.
+ * <p>
+ * The schedule of a day is read from the {@code appointment} table the first time it is requested, then kept up to date
+ * by {@link AppointmentService}: each committed change replaces the appointment in the schedules it leaves and enters, so
+ * a read is a single map lookup returning an immutable list. A day loaded while a change commits is served but not kept,
+ * as it may have missed that change. Changes committed by the other nodes drop the days of the appointment, which are
+ * then reloaded when next read.
+ * <p>
+ * Only the days within the configured horizon of today can be read, and at most the configured number of days are kept:
+ * beyond it, the least recently read ones are dropped. The days before yesterday are dropped every night.
+ */
+@Service
+public class VetScheduleIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VetScheduleIndex.class);
+
+    private static final Comparator<AppointmentDTO> BY_TIME = Comparator.comparing(AppointmentDTO::getApptTime).thenComparing(
+        AppointmentDTO::getId
+    );
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final AppointmentMapper appointmentMapper;
+
+    private final ZoneId timeZone;
+
+    private final Duration horizon;
+
+    private final int maxDays;
+
+    private final Map<Day, Schedule> schedules = new ConcurrentHashMap<>();
+
+    private final Map<Long, Day> dayByAppointment = new ConcurrentHashMap<>();
+
+    private long changes;
+
+    public VetScheduleIndex(
+        AppointmentRepository appointmentRepository,
+        AppointmentMapper appointmentMapper,
+        ApplicationProperties applicationProperties,
+        CacheInvalidationService cacheInvalidationService
+    ) {
+        this.appointmentRepository = appointmentRepository;
+        this.appointmentMapper = appointmentMapper;
+        this.timeZone = applicationProperties.getAppointment().getScheduleTimeZone();
+        this.horizon = applicationProperties.getAppointment().getScheduleHorizon();
+        this.maxDays = Math.max(1, applicationProperties.getAppointment().getScheduleMaxDays());
+        cacheInvalidationService.onRemoteEntityEviction(Appointment.class, this::dropRemoteChange);
+    }
+
+    /**
+     * Check whether the schedules of a day can be read.
+     *
+     * @param date the day, in the schedule time zone.
+     * @return whether the day is within the configured horizon of today.
+     */
+    public boolean isWithinHorizon(LocalDate date) {
+        LocalDate today = LocalDate.now(timeZone);
+        long days = horizon.toDays();
+        return !date.isBefore(today.minusDays(days)) && !date.isAfter(today.plusDays(days));
+    }
+
+    /**
+     * Get the schedule of a vet for a day.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day, in the schedule time zone.
+     * @return the appointments of the vet starting that day, cancelled ones included, ordered by time.
+     * @throws IllegalArgumentException if the day is not within the horizon, see {@link #isWithinHorizon(LocalDate)}.
+     */
+    public List<AppointmentDTO> getSchedule(Long vetId, LocalDate date) {
+        if (!isWithinHorizon(date)) {
+            throw new IllegalArgumentException("The schedules of " + date + " are not available");
+        }
+        Day day = new Day(vetId, date);
+        Schedule schedule = schedules.get(day);
+        if (schedule != null) {
+            schedule.lastRead = System.nanoTime();
+            return schedule.appointments();
+        }
+        long version;
+        synchronized (this) {
+            version = changes;
+        }
+        ZonedDateTime from = date.atStartOfDay(timeZone);
+        List<AppointmentDTO> loaded = appointmentRepository
+            .findAllByVetIdAndApptTimeGreaterThanEqualAndApptTimeLessThanOrderByApptTimeAscIdAsc(vetId, from, from.plusDays(1))
+            .stream()
+            .map(appointmentMapper::toDto)
+            .toList();
+        synchronized (this) {
+            if (changes == version && !schedules.containsKey(day)) {
+                LOG.debug("Loaded the schedule of Vet {} on {} with {} appointments", vetId, date, loaded.size());
+                if (schedules.size() >= maxDays) {
+                    dropLeastRecentlyRead();
+                }
+                schedules.put(day, new Schedule(loaded));
+                loaded.forEach(appointment -> dayByAppointment.put(appointment.getId(), day));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Record a persisted appointment in the schedule of its day, once the current transaction commits.
+     *
+     * @param appointment the persisted appointment.
+     */
+    public void update(Appointment appointment) {
+        AppointmentDTO appointmentDTO = appointmentMapper.toDto(appointment);
+        afterCommit(() -> apply(appointmentDTO.getId(), appointmentDTO));
+    }
+
+    /**
+     * Remove an appointment from the schedules, once the current transaction commits.
+     *
+     * @param appointmentId the id of the appointment.
+     */
+    public void remove(Long appointmentId) {
+        afterCommit(() -> apply(appointmentId, null));
+    }
+
+    /**
+     * The schedules of past days are not kept.
+     * <p>
+     * This is scheduled to get fired every day, at 01:00 (am).
+     */
+    @Scheduled(cron = "0 0 1 * * ?")
+    public synchronized void removePastDays() {
+        LocalDate yesterday = LocalDate.now(timeZone).minusDays(1);
+        schedules.keySet().removeIf(day -> day.date().isBefore(yesterday));
+        dayByAppointment.values().removeIf(day -> day.date().isBefore(yesterday));
+    }
+
+    private synchronized void apply(Long appointmentId, AppointmentDTO appointmentDTO) {
+        changes++;
+        Day previous = dayByAppointment.remove(appointmentId);
+        if (previous != null) {
+            schedules.computeIfPresent(previous, (day, schedule) -> schedule.with(without(schedule.appointments(), appointmentId)));
+        }
+        if (appointmentDTO != null) {
+            Day day = new Day(appointmentDTO.getVetId(), appointmentDTO.getApptTime().withZoneSameInstant(timeZone).toLocalDate());
+            Schedule updated = schedules.computeIfPresent(day, (key, schedule) ->
+                schedule.with(with(without(schedule.appointments(), appointmentId), appointmentDTO))
+            );
+            if (updated != null) {
+                dayByAppointment.put(appointmentId, day);
+            }
+        }
+    }
+
+    /**
+     * Drop the days of an appointment changed by another node, they are reloaded from the database when next read.
+     */
+    private void dropRemoteChange(Long appointmentId) {
+        if (appointmentId == null) {
+            synchronized (this) {
+                changes++;
+                schedules.clear();
+                dayByAppointment.clear();
+            }
+            return;
+        }
+        // the appointment was evicted from the second-level cache, so this reads the committed change
+        Optional<Day> current = appointmentRepository
+            .findById(appointmentId)
+            .filter(appointment -> appointment.getVetId() != null && appointment.getApptTime() != null)
+            .map(appointment -> new Day(appointment.getVetId(), appointment.getApptTime().withZoneSameInstant(timeZone).toLocalDate()));
+        synchronized (this) {
+            changes++;
+            Day previous = dayByAppointment.remove(appointmentId);
+            if (previous != null) {
+                drop(previous);
+            }
+            current.ifPresent(this::drop);
+        }
+    }
+
+    private void drop(Day day) {
+        Schedule schedule = schedules.remove(day);
+        if (schedule != null) {
+            schedule.appointments().forEach(appointment -> dayByAppointment.remove(appointment.getId(), day));
+        }
+    }
+
+    private void dropLeastRecentlyRead() {
+        // drop a tenth of the days at once, so that the sort is not repeated for every day loaded
+        int count = Math.max(1, maxDays / 10);
+        schedules
+            .entrySet()
+            .stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+            .limit(count)
+            .map(Map.Entry::getKey)
+            .toList()
+            .forEach(this::drop);
+    }
+
+    private List<AppointmentDTO> without(List<AppointmentDTO> schedule, Long appointmentId) {
+        return schedule.stream().filter(appointment -> !Objects.equals(appointment.getId(), appointmentId)).toList();
+    }
+
+    private List<AppointmentDTO> with(List<AppointmentDTO> schedule, AppointmentDTO appointmentDTO) {
+        List<AppointmentDTO> updated = new ArrayList<>(schedule.size() + 1);
+        updated.addAll(schedule);
+        updated.add(appointmentDTO);
+        updated.sort(BY_TIME);
+        return List.copyOf(updated);
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        change.run();
+                    }
+                }
+            );
+        } else {
+            change.run();
+        }
+    }
+
+    private record Day(Long vetId, LocalDate date) {}
+
+    private static final class Schedule {
+
+        private final List<AppointmentDTO> appointments;
+
+        private volatile long lastRead = System.nanoTime();
+
+        Schedule(List<AppointmentDTO> appointments) {
+            this.appointments = appointments;
+        }
+
+        List<AppointmentDTO> appointments() {
+            return appointments;
+        }
+
+        Schedule with(List<AppointmentDTO> appointments) {
+            Schedule schedule = new Schedule(appointments);
+            schedule.lastRead = lastRead;
+            return schedule;
+        }
+    }
+}
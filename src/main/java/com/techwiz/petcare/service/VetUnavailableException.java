@@ -0,0 +1,10 @@
+package com.techwiz.petcare.service;
+
+public class VetUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VetUnavailableException() {
+        super("The vet already has an appointment at this time!");
+    }
+}
@@ -0,0 +1,82 @@
+package com.techwiz.petcare.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for the result of one item of a bulk creation of {@link com.techwiz.petcare.domain.Appointment} entities.
+ */
+public class AppointmentBulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int index;
+
+    private AppointmentDTO appointment;
+
+    private String error;
+
+    private String message;
+
+    public static AppointmentBulkResultDTO created(int index, AppointmentDTO appointment) {
+        AppointmentBulkResultDTO result = new AppointmentBulkResultDTO();
+        result.setIndex(index);
+        result.setAppointment(appointment);
+        return result;
+    }
+
+    public static AppointmentBulkResultDTO rejected(int index, AppointmentDTO appointment, String error, String message) {
+        AppointmentBulkResultDTO result = new AppointmentBulkResultDTO();
+        result.setIndex(index);
+        result.setAppointment(appointment);
+        result.setError(error);
+        result.setMessage(message);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public AppointmentDTO getAppointment() {
+        return appointment;
+    }
+
+    public void setAppointment(AppointmentDTO appointment) {
+        this.appointment = appointment;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AppointmentBulkResultDTO{" +
+            "index=" + getIndex() +
+            ", appointment=" + getAppointment() +
+            ", error='" + getError() + "'" +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.techwiz.petcare.service.dto;
+
+import java.util.List;
+
+/**
+ * A page of entities fetched with keyset pagination.
+ *
+ * @param content the entities of the page.
+ * @param nextCursor the cursor of the next page, or {@code null} if this is the last page.
+ * @param <T> the type of the entities.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -34,6 +34,8 @@ public class HealthRecordDTO implements Serializable {
 
     private Instant createdAt;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -98,6 +100,14 @@ public class HealthRecordDTO implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -131,6 +141,7 @@ public class HealthRecordDTO implements Serializable {
             ", treatment='" + getTreatment() + "'" +
             ", notes='" + getNotes() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
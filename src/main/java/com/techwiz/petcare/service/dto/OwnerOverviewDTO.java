@@ -0,0 +1,43 @@
+package com.techwiz.petcare.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for the overview of an owner: their {@link com.techwiz.petcare.domain.Pet}s, with the next appointments and the
+ * latest health record of each.
+ */
+public class OwnerOverviewDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long ownerId;
+
+    private List<PetOverviewDTO> pets = new ArrayList<>();
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public List<PetOverviewDTO> getPets() {
+        return pets;
+    }
+
+    public void setPets(List<PetOverviewDTO> pets) {
+        this.pets = pets;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OwnerOverviewDTO{" +
+            "ownerId=" + getOwnerId() +
+            ", pets=" + getPets() +
+            "}";
+    }
+}
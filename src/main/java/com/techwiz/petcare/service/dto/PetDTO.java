@@ -36,6 +36,8 @@ public class PetDTO implements Serializable {
 
     private Instant createdAt;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -108,6 +110,14 @@ public class PetDTO implements Serializable {
         this.createdAt = createdAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -142,6 +152,7 @@ public class PetDTO implements Serializable {
             ", gender='" + getGender() + "'" +
             ", photoUrl='" + getPhotoUrl() + "'" +
             ", createdAt='" + getCreatedAt() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
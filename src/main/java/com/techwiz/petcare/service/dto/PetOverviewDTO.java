@@ -0,0 +1,53 @@
+package com.techwiz.petcare.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for a {@link com.techwiz.petcare.domain.Pet} in the overview of its owner.
+ */
+public class PetOverviewDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private PetDTO pet;
+
+    private List<AppointmentDTO> nextAppointments = new ArrayList<>();
+
+    private HealthRecordDTO latestHealthRecord;
+
+    public PetDTO getPet() {
+        return pet;
+    }
+
+    public void setPet(PetDTO pet) {
+        this.pet = pet;
+    }
+
+    public List<AppointmentDTO> getNextAppointments() {
+        return nextAppointments;
+    }
+
+    public void setNextAppointments(List<AppointmentDTO> nextAppointments) {
+        this.nextAppointments = nextAppointments;
+    }
+
+    public HealthRecordDTO getLatestHealthRecord() {
+        return latestHealthRecord;
+    }
+
+    public void setLatestHealthRecord(HealthRecordDTO latestHealthRecord) {
+        this.latestHealthRecord = latestHealthRecord;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PetOverviewDTO{" +
+            "pet=" + getPet() +
+            ", nextAppointments=" + getNextAppointments() +
+            ", latestHealthRecord=" + getLatestHealthRecord() +
+            "}";
+    }
+}
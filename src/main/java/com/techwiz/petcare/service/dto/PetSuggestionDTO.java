@@ -0,0 +1,105 @@
+package com.techwiz.petcare.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link com.techwiz.petcare.domain.Pet} suggested while typing its name, species or breed.
+ */
+public class PetSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long ownerId;
+
+    private String name;
+
+    private String species;
+
+    private String breed;
+
+    public PetSuggestionDTO() {}
+
+    public PetSuggestionDTO(Long id, Long ownerId, String name, String species, String breed) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.name = name;
+        this.species = species;
+        this.breed = breed;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getSpecies() {
+        return species;
+    }
+
+    public void setSpecies(String species) {
+        this.species = species;
+    }
+
+    public String getBreed() {
+        return breed;
+    }
+
+    public void setBreed(String breed) {
+        this.breed = breed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PetSuggestionDTO)) {
+            return false;
+        }
+
+        PetSuggestionDTO petSuggestionDTO = (PetSuggestionDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, petSuggestionDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PetSuggestionDTO{" +
+            "id=" + getId() +
+            ", ownerId=" + getOwnerId() +
+            ", name='" + getName() + "'" +
+            ", species='" + getSpecies() + "'" +
+            ", breed='" + getBreed() + "'" +
+            "}";
+    }
+}
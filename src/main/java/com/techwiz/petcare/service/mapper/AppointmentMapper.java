@@ -8,4 +8,14 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Appointment} and its DTO {@link AppointmentDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface AppointmentMapper extends EntityMapper<AppointmentDTO, Appointment> {}
+public interface AppointmentMapper extends EntityMapper<AppointmentDTO, Appointment> {
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Appointment toEntity(AppointmentDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Appointment entity, AppointmentDTO dto);
+}
@@ -8,4 +8,14 @@ import org.mapstruct.*;
  * Mapper for the entity {@link HealthRecord} and its DTO {@link HealthRecordDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface HealthRecordMapper extends EntityMapper<HealthRecordDTO, HealthRecord> {}
+public interface HealthRecordMapper extends EntityMapper<HealthRecordDTO, HealthRecord> {
+    @Override
+    @Mapping(target = "version", ignore = true)
+    HealthRecord toEntity(HealthRecordDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget HealthRecord entity, HealthRecordDTO dto);
+}
@@ -8,4 +8,14 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Pet} and its DTO {@link PetDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface PetMapper extends EntityMapper<PetDTO, Pet> {}
+public interface PetMapper extends EntityMapper<PetDTO, Pet> {
+    @Override
+    @Mapping(target = "version", ignore = true)
+    Pet toEntity(PetDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Pet entity, PetDTO dto);
+}
@@ -1,11 +1,18 @@
 package com.techwiz.petcare.web.rest;
 
+import com.techwiz.petcare.config.ApplicationProperties;
 import com.techwiz.petcare.repository.AppointmentRepository;
 import com.techwiz.petcare.service.AppointmentQueryService;
 import com.techwiz.petcare.service.AppointmentService;
 import com.techwiz.petcare.service.criteria.AppointmentCriteria;
+import com.techwiz.petcare.service.dto.AppointmentBulkResultDTO;
 import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.service.dto.CursorPage;
 import com.techwiz.petcare.web.rest.errors.BadRequestAlertException;
+import com.techwiz.petcare.web.rest.errors.PreconditionFailedException;
+import com.techwiz.petcare.web.rest.util.CursorPaginationUtil;
+import com.techwiz.petcare.web.rest.util.ETagUtil;
+import com.techwiz.petcare.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,14 +20,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -46,14 +58,18 @@ public class AppointmentResource {
 
     private final AppointmentQueryService appointmentQueryService;
 
+    private final ApplicationProperties applicationProperties;
+
     public AppointmentResource(
         AppointmentService appointmentService,
         AppointmentRepository appointmentRepository,
-        AppointmentQueryService appointmentQueryService
+        AppointmentQueryService appointmentQueryService,
+        ApplicationProperties applicationProperties
     ) {
         this.appointmentService = appointmentService;
         this.appointmentRepository = appointmentRepository;
         this.appointmentQueryService = appointmentQueryService;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -75,20 +91,47 @@ public class AppointmentResource {
             .body(appointmentDTO);
     }
 
+    /**
+     * {@code POST  /appointments/bulk} : Create a batch of new appointments.
+     * <p>
+     * Each appointment is validated and checked against the vets' schedules, including the other appointments of the batch.
+     * The valid ones are created in a single transaction, the others are rejected with the reason in their result.
+     *
+     * @param appointmentDTOs the appointmentDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of every appointmentDTO,
+     * in the same order, or with status {@code 400 (Bad Request)} if the batch is empty or too large.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<AppointmentBulkResultDTO>> createAppointments(@NotNull @RequestBody List<AppointmentDTO> appointmentDTOs) {
+        LOG.debug("REST request to save {} Appointments", appointmentDTOs.size());
+        if (appointmentDTOs.isEmpty() || appointmentDTOs.size() > applicationProperties.getAppointment().getBulkMaxSize()) {
+            throw new BadRequestAlertException("Invalid bulk size", ENTITY_NAME, "bulksizeinvalid");
+        }
+        List<AppointmentBulkResultDTO> results = appointmentService.saveAll(appointmentDTOs);
+        long created = results.stream().filter(AppointmentBulkResultDTO::isCreated).count();
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createAlert(applicationName, applicationName + "." + ENTITY_NAME + ".bulkCreated", String.valueOf(created)))
+            .body(results);
+    }
+
     /**
      * {@code PUT  /appointments/:id} : Updates an existing appointment.
      *
      * @param id the id of the appointmentDTO to save.
      * @param appointmentDTO the appointmentDTO to update.
+     * @param ifMatch the ETags of the versions of the appointmentDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appointmentDTO,
      * or with status {@code 400 (Bad Request)} if the appointmentDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the appointmentDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the appointmentDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the appointmentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AppointmentDTO> updateAppointment(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody AppointmentDTO appointmentDTO
+        @Valid @RequestBody AppointmentDTO appointmentDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to update Appointment : {}, {}", id, appointmentDTO);
         if (appointmentDTO.getId() == null) {
@@ -102,7 +145,7 @@ public class AppointmentResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        appointmentDTO = appointmentService.update(appointmentDTO);
+        appointmentDTO = updateIfMatch(id, ifMatch, appointmentDTO, appointmentService::update);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, appointmentDTO.getId().toString()))
             .body(appointmentDTO);
@@ -113,16 +156,20 @@ public class AppointmentResource {
      *
      * @param id the id of the appointmentDTO to save.
      * @param appointmentDTO the appointmentDTO to update.
+     * @param ifMatch the ETags of the versions of the appointmentDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated appointmentDTO,
      * or with status {@code 400 (Bad Request)} if the appointmentDTO is not valid,
      * or with status {@code 404 (Not Found)} if the appointmentDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the appointmentDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the appointmentDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the appointmentDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AppointmentDTO> partialUpdateAppointment(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody AppointmentDTO appointmentDTO
+        @NotNull @RequestBody AppointmentDTO appointmentDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Appointment partially : {}, {}", id, appointmentDTO);
         if (appointmentDTO.getId() == null) {
@@ -136,7 +183,7 @@ public class AppointmentResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<AppointmentDTO> result = appointmentService.partialUpdate(appointmentDTO);
+        Optional<AppointmentDTO> result = updateIfMatch(id, ifMatch, appointmentDTO, appointmentService::partialUpdate);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -148,21 +195,59 @@ public class AppointmentResource {
      * {@code GET  /appointments} : get all the appointments.
      *
      * @param pageable the pagination information.
+     * @param count whether to count all the matching appointments: if {@code false}, no count query is issued
+     * and only the next/prev links are returned.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appointments in body.
      */
     @GetMapping("")
     public ResponseEntity<List<AppointmentDTO>> getAllAppointments(
         AppointmentCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Appointments by criteria: {}", criteria);
 
+        if (!count) {
+            Slice<AppointmentDTO> slice = appointmentQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            String eTag = ETagUtil.listTag(slice.getContent(), AppointmentDTO::getId, AppointmentDTO::getVersion, slice.hasNext());
+            headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+
         Page<AppointmentDTO> page = appointmentQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ETagUtil.listTag(page.getContent(), AppointmentDTO::getId, AppointmentDTO::getVersion, page.getTotalElements());
+        headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /appointments?cursor=} : get the appointments after the given cursor, ordered by {@code apptTime} then {@code id}.
+     * <p>
+     * No count query is issued: send an empty cursor for the first page, then the {@code X-Next-Cursor} header of each response.
+     *
+     * @param cursor the cursor of the page to return.
+     * @param pageable the pagination information, only the page size is used.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of appointments in body.
+     */
+    @GetMapping(value = "", params = "cursor")
+    public ResponseEntity<List<AppointmentDTO>> getAllAppointmentsByCursor(
+        AppointmentCriteria criteria,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get Appointments by criteria: {}, cursor: {}", criteria, cursor);
+
+        CursorPage<AppointmentDTO> page = appointmentQueryService.findByCriteria(criteria, cursor, pageable.getPageSize());
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ETagUtil.listTag(page.content(), AppointmentDTO::getId, AppointmentDTO::getVersion, page.nextCursor());
+        headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
+        return ResponseEntity.ok().headers(headers).body(page.content());
+    }
+
     /**
      * {@code GET  /appointments/count} : count all the appointments.
      *
@@ -179,13 +264,24 @@ public class AppointmentResource {
      * {@code GET  /appointments/:id} : get the "id" appointment.
      *
      * @param id the id of the appointmentDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appointmentDTO, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the ETag of the appointmentDTO.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the appointmentDTO, or with status
+     * {@code 304 (Not Modified)} if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AppointmentDTO> getAppointment(@PathVariable("id") Long id) {
+    public ResponseEntity<AppointmentDTO> getAppointment(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Appointment : {}", id);
+        // the version alone tells whether the client has the current appointment, without mapping nor serializing it
+        Optional<String> currentETag = appointmentService.findVersion(id).map(version -> ETagUtil.entityTag(id, version));
+        if (currentETag.isPresent() && webRequest.checkNotModified(currentETag.orElseThrow())) {
+            HttpHeaders headers = ETagUtil.generateETagHttpHeaders(currentETag.orElseThrow());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
         Optional<AppointmentDTO> appointmentDTO = appointmentService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(appointmentDTO);
+        return ResponseUtil.wrapOrNotFound(
+            appointmentDTO,
+            appointmentDTO.map(dto -> ETagUtil.generateETagHttpHeaders(ETagUtil.entityTag(dto.getId(), dto.getVersion()))).orElse(null)
+        );
     }
 
     /**
@@ -202,4 +298,21 @@ public class AppointmentResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Run an update, conditional on the version of the appointment named by its {@code If-Match} header if any. The version is
+     * enforced by the service in the transaction of the update, and a conflict is then reported as a failed precondition.
+     */
+    private <T> T updateIfMatch(Long id, String ifMatch, AppointmentDTO appointmentDTO, Function<AppointmentDTO, T> update) {
+        if (ifMatch == null || ETagUtil.isWildcard(ifMatch)) {
+            return update.apply(appointmentDTO);
+        }
+        Long version = ETagUtil.ifMatchVersion(id, ifMatch).orElseThrow(() -> new PreconditionFailedException(ENTITY_NAME, null));
+        appointmentDTO.setVersion(version);
+        try {
+            return update.apply(appointmentDTO);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(ENTITY_NAME, e);
+        }
+    }
 }
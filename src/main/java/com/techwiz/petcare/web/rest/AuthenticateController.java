@@ -6,11 +6,16 @@ import static com.techwiz.petcare.security.SecurityUtils.USER_ID_CLAIM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.techwiz.petcare.security.DomainUserDetailsService.UserWithId;
+import com.techwiz.petcare.security.LoginExecutor;
+import com.techwiz.petcare.security.LoginRateLimiter;
 import com.techwiz.petcare.web.rest.vm.LoginVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,10 +24,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
@@ -46,26 +50,62 @@ public class AuthenticateController {
     @Value("${jhipster.security.authentication.jwt.token-validity-in-seconds-for-remember-me:0}")
     private long tokenValidityInSecondsForRememberMe;
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final LoginExecutor loginExecutor;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final LoginRateLimiter loginRateLimiter;
+
+    public AuthenticateController(JwtEncoder jwtEncoder, LoginExecutor loginExecutor, LoginRateLimiter loginRateLimiter) {
         this.jwtEncoder = jwtEncoder;
-        this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.loginExecutor = loginExecutor;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
+    /**
+     * {@code POST /authenticate} : authenticate a user.
+     * <p>
+     * The credentials are checked on the {@link LoginExecutor} threads, the request thread is released meanwhile. Logins
+     * and client IPs having failed too often recently are rejected by the {@link LoginRateLimiter} without checking them.
+     *
+     * @param loginVM the credentials of the user.
+     * @param request the HTTP request, giving the IP of the client, taken from the {@code X-Forwarded-For} header of the
+     * load balancer in production, see {@code server.forward-headers-strategy}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the JWT in body,
+     * or with status {@code 401 (Unauthorized)} if the credentials are not valid,
+     * or with status {@code 429 (Too Many Requests)} if the login or the client IP failed too many logins recently,
+     * or with status {@code 503 (Service Unavailable)} if too many logins are in progress.
+     */
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public CompletableFuture<ResponseEntity<JWTToken>> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        loginRateLimiter.check(loginVM.getUsername(), ip);
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
             loginVM.getUsername(),
             loginVM.getPassword()
         );
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        CompletableFuture<Authentication> pendingAuthentication;
+        try {
+            pendingAuthentication = loginExecutor.authenticate(authenticationToken);
+        } catch (RuntimeException e) {
+            loginRateLimiter.release(loginVM.getUsername(), ip);
+            throw e;
+        }
+        return pendingAuthentication
+            .whenComplete((result, e) -> {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                // a failed authentication stays counted by the limiter
+                if (cause == null) {
+                    loginRateLimiter.recordSuccess(loginVM.getUsername(), ip);
+                } else if (!(cause instanceof AuthenticationException)) {
+                    loginRateLimiter.release(loginVM.getUsername(), ip);
+                }
+            })
+            .thenApply(authentication -> {
+                String jwt = this.createToken(authentication, loginVM.isRememberMe());
+                HttpHeaders httpHeaders = new HttpHeaders();
+                httpHeaders.setBearerAuth(jwt);
+                return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+            });
     }
 
     /**
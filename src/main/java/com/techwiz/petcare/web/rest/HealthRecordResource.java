@@ -1,26 +1,41 @@
 package com.techwiz.petcare.web.rest;
 
 import com.techwiz.petcare.repository.HealthRecordRepository;
+import com.techwiz.petcare.service.HealthRecordExportService;
 import com.techwiz.petcare.service.HealthRecordQueryService;
+import com.techwiz.petcare.service.HealthRecordSearchService;
 import com.techwiz.petcare.service.HealthRecordService;
 import com.techwiz.petcare.service.criteria.HealthRecordCriteria;
 import com.techwiz.petcare.service.dto.HealthRecordDTO;
 import com.techwiz.petcare.web.rest.errors.BadRequestAlertException;
+import com.techwiz.petcare.web.rest.errors.PreconditionFailedException;
+import com.techwiz.petcare.web.rest.util.ETagUtil;
+import com.techwiz.petcare.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -46,14 +61,22 @@ public class HealthRecordResource {
 
     private final HealthRecordQueryService healthRecordQueryService;
 
+    private final HealthRecordExportService healthRecordExportService;
+
+    private final HealthRecordSearchService healthRecordSearchService;
+
     public HealthRecordResource(
         HealthRecordService healthRecordService,
         HealthRecordRepository healthRecordRepository,
-        HealthRecordQueryService healthRecordQueryService
+        HealthRecordQueryService healthRecordQueryService,
+        HealthRecordExportService healthRecordExportService,
+        HealthRecordSearchService healthRecordSearchService
     ) {
         this.healthRecordService = healthRecordService;
         this.healthRecordRepository = healthRecordRepository;
         this.healthRecordQueryService = healthRecordQueryService;
+        this.healthRecordExportService = healthRecordExportService;
+        this.healthRecordSearchService = healthRecordSearchService;
     }
 
     /**
@@ -81,15 +104,19 @@ public class HealthRecordResource {
      *
      * @param id the id of the healthRecordDTO to save.
      * @param healthRecordDTO the healthRecordDTO to update.
+     * @param ifMatch the ETags of the versions of the healthRecordDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated healthRecordDTO,
      * or with status {@code 400 (Bad Request)} if the healthRecordDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the healthRecordDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the healthRecordDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the healthRecordDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<HealthRecordDTO> updateHealthRecord(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody HealthRecordDTO healthRecordDTO
+        @Valid @RequestBody HealthRecordDTO healthRecordDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to update HealthRecord : {}, {}", id, healthRecordDTO);
         if (healthRecordDTO.getId() == null) {
@@ -103,7 +130,7 @@ public class HealthRecordResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        healthRecordDTO = healthRecordService.update(healthRecordDTO);
+        healthRecordDTO = updateIfMatch(id, ifMatch, healthRecordDTO, healthRecordService::update);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, healthRecordDTO.getId().toString()))
             .body(healthRecordDTO);
@@ -114,16 +141,20 @@ public class HealthRecordResource {
      *
      * @param id the id of the healthRecordDTO to save.
      * @param healthRecordDTO the healthRecordDTO to update.
+     * @param ifMatch the ETags of the versions of the healthRecordDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated healthRecordDTO,
      * or with status {@code 400 (Bad Request)} if the healthRecordDTO is not valid,
      * or with status {@code 404 (Not Found)} if the healthRecordDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the healthRecordDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the healthRecordDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the healthRecordDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<HealthRecordDTO> partialUpdateHealthRecord(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody HealthRecordDTO healthRecordDTO
+        @NotNull @RequestBody HealthRecordDTO healthRecordDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update HealthRecord partially : {}, {}", id, healthRecordDTO);
         if (healthRecordDTO.getId() == null) {
@@ -137,7 +168,7 @@ public class HealthRecordResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<HealthRecordDTO> result = healthRecordService.partialUpdate(healthRecordDTO);
+        Optional<HealthRecordDTO> result = updateIfMatch(id, ifMatch, healthRecordDTO, healthRecordService::partialUpdate);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -149,21 +180,118 @@ public class HealthRecordResource {
      * {@code GET  /health-records} : get all the healthRecords.
      *
      * @param pageable the pagination information.
+     * @param count whether to count all the matching healthRecords: if {@code false}, no count query is issued
+     * and only the next/prev links are returned.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of healthRecords in body.
      */
     @GetMapping("")
     public ResponseEntity<List<HealthRecordDTO>> getAllHealthRecords(
         HealthRecordCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get HealthRecords by criteria: {}", criteria);
 
+        if (!count) {
+            Slice<HealthRecordDTO> slice = healthRecordQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            String eTag = ETagUtil.listTag(slice.getContent(), HealthRecordDTO::getId, HealthRecordDTO::getVersion, slice.hasNext());
+            headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+
         Page<HealthRecordDTO> page = healthRecordQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ETagUtil.listTag(page.getContent(), HealthRecordDTO::getId, HealthRecordDTO::getVersion, page.getTotalElements());
+        headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /health-records/export} : export the healthRecords of a pet and/or a vet.
+     * <p>
+     * The healthRecords are streamed from the database straight to the response, whatever their number.
+     *
+     * @param petId the id of the pet, or all pets if absent.
+     * @param vetId the id of the vet, or all vets if absent.
+     * @param format the export format, {@code ndjson} (default) or {@code csv}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the healthRecords in body,
+     * or with status {@code 400 (Bad Request)} if the format is unknown.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportHealthRecords(
+        @RequestParam(value = "petId", required = false) Long petId,
+        @RequestParam(value = "vetId", required = false) Long vetId,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format
+    ) {
+        LOG.debug("REST request to export HealthRecords of pet {} and vet {} as {}", petId, vetId, format);
+        HealthRecordExportService.Format exportFormat;
+        try {
+            exportFormat = HealthRecordExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid");
+        }
+        StreamingResponseBody body = outputStream -> healthRecordExportService.export(petId, vetId, exportFormat, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("health-records." + exportFormat.getExtension()).build().toString()
+            )
+            .body(body);
+    }
+
+    /**
+     * {@code GET  /health-records/_search?q=} : search the healthRecords by diagnosis, treatment and notes.
+     *
+     * @param q the words to search.
+     * @param pageable the pagination information, its sort is ignored.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the matching healthRecords in body, most relevant first,
+     * or with status {@code 400 (Bad Request)} if the query is empty.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<HealthRecordDTO>> searchHealthRecords(
+        @RequestParam("q") String q,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search HealthRecords for : {}", q);
+        if (q.isBlank()) {
+            throw new BadRequestAlertException("The search query cannot be empty", ENTITY_NAME, "queryempty");
+        }
+        Page<HealthRecordDTO> page = healthRecordSearchService.search(q, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code POST  /health-records/_reindex} : rebuild the healthRecord search index in the background.
+     * <p>
+     * Unless the MySQL server runs with {@code innodb_optimize_fulltext_only=ON}, the rebuild blocks the writes to the
+     * healthRecords until it completes, and is refused unless forced, see {@link HealthRecordSearchService#reindex(boolean)}.
+     *
+     * @param force whether to rebuild even if the writes to the healthRecords are blocked meanwhile.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)},
+     * or with status {@code 400 (Bad Request)} if the index is already being rebuilt, or if the rebuild would block the
+     * writes and is not forced.
+     */
+    @PostMapping("/_reindex")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Void> reindexHealthRecords(@RequestParam(value = "force", defaultValue = "false") boolean force) {
+        LOG.debug("REST request to rebuild the HealthRecord search index, forced: {}", force);
+        if (!force && !healthRecordSearchService.isOnlineReindex()) {
+            throw new BadRequestAlertException(
+                "The rebuild would block the writes to the health records, force it to run it anyway",
+                ENTITY_NAME,
+                "reindexblockswrites"
+            );
+        }
+        if (!healthRecordSearchService.reindex(force)) {
+            throw new BadRequestAlertException("The search index is already being rebuilt", ENTITY_NAME, "reindexrunning");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
     /**
      * {@code GET  /health-records/count} : count all the healthRecords.
      *
@@ -180,13 +308,24 @@ public class HealthRecordResource {
      * {@code GET  /health-records/:id} : get the "id" healthRecord.
      *
      * @param id the id of the healthRecordDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the healthRecordDTO, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the ETag of the healthRecordDTO.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the healthRecordDTO, or with status
+     * {@code 304 (Not Modified)} if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<HealthRecordDTO> getHealthRecord(@PathVariable("id") Long id) {
+    public ResponseEntity<HealthRecordDTO> getHealthRecord(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get HealthRecord : {}", id);
+        // the version alone tells whether the client has the current healthRecord, without mapping nor serializing it
+        Optional<String> currentETag = healthRecordService.findVersion(id).map(version -> ETagUtil.entityTag(id, version));
+        if (currentETag.isPresent() && webRequest.checkNotModified(currentETag.orElseThrow())) {
+            HttpHeaders headers = ETagUtil.generateETagHttpHeaders(currentETag.orElseThrow());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
         Optional<HealthRecordDTO> healthRecordDTO = healthRecordService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(healthRecordDTO);
+        return ResponseUtil.wrapOrNotFound(
+            healthRecordDTO,
+            healthRecordDTO.map(dto -> ETagUtil.generateETagHttpHeaders(ETagUtil.entityTag(dto.getId(), dto.getVersion()))).orElse(null)
+        );
     }
 
     /**
@@ -203,4 +342,21 @@ public class HealthRecordResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Run an update, conditional on the version of the health record named by its {@code If-Match} header if any. The version is
+     * enforced by the service in the transaction of the update, and a conflict is then reported as a failed precondition.
+     */
+    private <T> T updateIfMatch(Long id, String ifMatch, HealthRecordDTO healthRecordDTO, Function<HealthRecordDTO, T> update) {
+        if (ifMatch == null || ETagUtil.isWildcard(ifMatch)) {
+            return update.apply(healthRecordDTO);
+        }
+        Long version = ETagUtil.ifMatchVersion(id, ifMatch).orElseThrow(() -> new PreconditionFailedException(ENTITY_NAME, null));
+        healthRecordDTO.setVersion(version);
+        try {
+            return update.apply(healthRecordDTO);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(ENTITY_NAME, e);
+        }
+    }
 }
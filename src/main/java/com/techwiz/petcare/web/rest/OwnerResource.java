@@ -0,0 +1,37 @@
+package com.techwiz.petcare.web.rest;
+
+import com.techwiz.petcare.service.OwnerOverviewService;
+import com.techwiz.petcare.service.dto.OwnerOverviewDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the read models of pet owners.
+ */
+@RestController
+@RequestMapping("/api/owners")
+public class OwnerResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OwnerResource.class);
+
+    private final OwnerOverviewService ownerOverviewService;
+
+    public OwnerResource(OwnerOverviewService ownerOverviewService) {
+        this.ownerOverviewService = ownerOverviewService;
+    }
+
+    /**
+     * {@code GET  /owners/:id/overview} : get the overview of the "id" owner.
+     *
+     * @param id the id of the owner.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pets of the owner, with their next
+     * appointments and latest health record.
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<OwnerOverviewDTO> getOwnerOverview(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the overview of Owner : {}", id);
+        return ResponseEntity.ok().body(ownerOverviewService.getOverview(id));
+    }
+}
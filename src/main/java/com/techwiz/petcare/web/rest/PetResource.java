@@ -3,9 +3,16 @@ package com.techwiz.petcare.web.rest;
 import com.techwiz.petcare.repository.PetRepository;
 import com.techwiz.petcare.service.PetQueryService;
 import com.techwiz.petcare.service.PetService;
+import com.techwiz.petcare.service.PetSuggestionIndex;
 import com.techwiz.petcare.service.criteria.PetCriteria;
+import com.techwiz.petcare.service.dto.CursorPage;
 import com.techwiz.petcare.service.dto.PetDTO;
+import com.techwiz.petcare.service.dto.PetSuggestionDTO;
 import com.techwiz.petcare.web.rest.errors.BadRequestAlertException;
+import com.techwiz.petcare.web.rest.errors.PreconditionFailedException;
+import com.techwiz.petcare.web.rest.util.CursorPaginationUtil;
+import com.techwiz.petcare.web.rest.util.ETagUtil;
+import com.techwiz.petcare.web.rest.util.SlicePaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,14 +20,19 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -46,10 +58,18 @@ public class PetResource {
 
     private final PetQueryService petQueryService;
 
-    public PetResource(PetService petService, PetRepository petRepository, PetQueryService petQueryService) {
+    private final PetSuggestionIndex petSuggestionIndex;
+
+    public PetResource(
+        PetService petService,
+        PetRepository petRepository,
+        PetQueryService petQueryService,
+        PetSuggestionIndex petSuggestionIndex
+    ) {
         this.petService = petService;
         this.petRepository = petRepository;
         this.petQueryService = petQueryService;
+        this.petSuggestionIndex = petSuggestionIndex;
     }
 
     /**
@@ -76,14 +96,20 @@ public class PetResource {
      *
      * @param id the id of the petDTO to save.
      * @param petDTO the petDTO to update.
+     * @param ifMatch the ETags of the versions of the petDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated petDTO,
      * or with status {@code 400 (Bad Request)} if the petDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the version of the petDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the petDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the petDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<PetDTO> updatePet(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody PetDTO petDTO)
-        throws URISyntaxException {
+    public ResponseEntity<PetDTO> updatePet(
+        @PathVariable(value = "id", required = false) final Long id,
+        @Valid @RequestBody PetDTO petDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Pet : {}, {}", id, petDTO);
         if (petDTO.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -96,7 +122,7 @@ public class PetResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        petDTO = petService.update(petDTO);
+        petDTO = updateIfMatch(id, ifMatch, petDTO, petService::update);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, petDTO.getId().toString()))
             .body(petDTO);
@@ -107,16 +133,20 @@ public class PetResource {
      *
      * @param id the id of the petDTO to save.
      * @param petDTO the petDTO to update.
+     * @param ifMatch the ETags of the versions of the petDTO the update applies to, if it is conditional.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated petDTO,
      * or with status {@code 400 (Bad Request)} if the petDTO is not valid,
      * or with status {@code 404 (Not Found)} if the petDTO is not found,
+     * or with status {@code 409 (Conflict)} if the version of the petDTO is not the current one,
+     * or with status {@code 412 (Precondition Failed)} if the petDTO no longer has the version named by {@code If-Match},
      * or with status {@code 500 (Internal Server Error)} if the petDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<PetDTO> partialUpdatePet(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody PetDTO petDTO
+        @NotNull @RequestBody PetDTO petDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Pet partially : {}, {}", id, petDTO);
         if (petDTO.getId() == null) {
@@ -130,7 +160,7 @@ public class PetResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Optional<PetDTO> result = petService.partialUpdate(petDTO);
+        Optional<PetDTO> result = updateIfMatch(id, ifMatch, petDTO, petService::partialUpdate);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -142,21 +172,59 @@ public class PetResource {
      * {@code GET  /pets} : get all the pets.
      *
      * @param pageable the pagination information.
+     * @param count whether to count all the matching pets: if {@code false}, no count query is issued
+     * and only the next/prev links are returned.
      * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
      */
     @GetMapping("")
     public ResponseEntity<List<PetDTO>> getAllPets(
         PetCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "count", defaultValue = "true") boolean count
     ) {
         LOG.debug("REST request to get Pets by criteria: {}", criteria);
 
+        if (!count) {
+            Slice<PetDTO> slice = petQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSlicePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            String eTag = ETagUtil.listTag(slice.getContent(), PetDTO::getId, PetDTO::getVersion, slice.hasNext());
+            headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+
         Page<PetDTO> page = petQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ETagUtil.listTag(page.getContent(), PetDTO::getId, PetDTO::getVersion, page.getTotalElements());
+        headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /pets?cursor=} : get the pets after the given cursor, ordered by {@code createdAt} then {@code id}.
+     * <p>
+     * No count query is issued: send an empty cursor for the first page, then the {@code X-Next-Cursor} header of each response.
+     *
+     * @param cursor the cursor of the page to return.
+     * @param pageable the pagination information, only the page size is used.
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
+     */
+    @GetMapping(value = "", params = "cursor")
+    public ResponseEntity<List<PetDTO>> getAllPetsByCursor(
+        PetCriteria criteria,
+        @RequestParam("cursor") String cursor,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get Pets by criteria: {}, cursor: {}", criteria, cursor);
+
+        CursorPage<PetDTO> page = petQueryService.findByCriteria(criteria, cursor, pageable.getPageSize());
+        HttpHeaders headers = CursorPaginationUtil.generateCursorPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        String eTag = ETagUtil.listTag(page.content(), PetDTO::getId, PetDTO::getVersion, page.nextCursor());
+        headers.addAll(ETagUtil.generateETagHttpHeaders(eTag));
+        return ResponseEntity.ok().headers(headers).body(page.content());
+    }
+
     /**
      * {@code GET  /pets/count} : count all the pets.
      *
@@ -169,17 +237,46 @@ public class PetResource {
         return ResponseEntity.ok().body(petQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /pets/_suggest?q=} : suggest the pets whose name, species or breed have words starting with the query.
+     *
+     * @param q the text typed so far.
+     * @param ownerId the id of the owner of the pets, or all owners if absent.
+     * @param size the maximum number of suggestions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best matching pets in body.
+     */
+    @GetMapping("/_suggest")
+    public ResponseEntity<List<PetSuggestionDTO>> suggestPets(
+        @RequestParam("q") String q,
+        @RequestParam(value = "ownerId", required = false) Long ownerId,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to suggest Pets of owner {} for : {}", ownerId, q);
+        return ResponseEntity.ok().body(petSuggestionIndex.suggest(q, ownerId, size));
+    }
+
     /**
      * {@code GET  /pets/:id} : get the "id" pet.
      *
      * @param id the id of the petDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the petDTO, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, whose {@code If-None-Match} header is checked against the ETag of the petDTO.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the petDTO, or with status
+     * {@code 304 (Not Modified)} if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PetDTO> getPet(@PathVariable("id") Long id) {
+    public ResponseEntity<PetDTO> getPet(@PathVariable("id") Long id, WebRequest webRequest) {
         LOG.debug("REST request to get Pet : {}", id);
+        // the version alone tells whether the client has the current pet, without mapping nor serializing it
+        Optional<String> currentETag = petService.findVersion(id).map(version -> ETagUtil.entityTag(id, version));
+        if (currentETag.isPresent() && webRequest.checkNotModified(currentETag.orElseThrow())) {
+            HttpHeaders headers = ETagUtil.generateETagHttpHeaders(currentETag.orElseThrow());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
         Optional<PetDTO> petDTO = petService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(petDTO);
+        return ResponseUtil.wrapOrNotFound(
+            petDTO,
+            petDTO.map(dto -> ETagUtil.generateETagHttpHeaders(ETagUtil.entityTag(dto.getId(), dto.getVersion()))).orElse(null)
+        );
     }
 
     /**
@@ -196,4 +293,21 @@ public class PetResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Run an update, conditional on the version of the pet named by its {@code If-Match} header if any. The version is
+     * enforced by the service in the transaction of the update, and a conflict is then reported as a failed precondition.
+     */
+    private <T> T updateIfMatch(Long id, String ifMatch, PetDTO petDTO, Function<PetDTO, T> update) {
+        if (ifMatch == null || ETagUtil.isWildcard(ifMatch)) {
+            return update.apply(petDTO);
+        }
+        Long version = ETagUtil.ifMatchVersion(id, ifMatch).orElseThrow(() -> new PreconditionFailedException(ENTITY_NAME, null));
+        petDTO.setVersion(version);
+        try {
+            return update.apply(petDTO);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(ENTITY_NAME, e);
+        }
+    }
 }
@@ -4,7 +4,6 @@ import com.techwiz.petcare.config.Constants;
 import com.techwiz.petcare.domain.User;
 import com.techwiz.petcare.repository.UserRepository;
 import com.techwiz.petcare.security.AuthoritiesConstants;
-import com.techwiz.petcare.service.MailService;
 import com.techwiz.petcare.service.UserService;
 import com.techwiz.petcare.service.dto.AdminUserDTO;
 import com.techwiz.petcare.web.rest.errors.BadRequestAlertException;
@@ -84,12 +83,9 @@ public class UserResource {
 
     private final UserRepository userRepository;
 
-    private final MailService mailService;
-
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    public UserResource(UserService userService, UserRepository userRepository) {
         this.userService = userService;
         this.userRepository = userRepository;
-        this.mailService = mailService;
     }
 
     /**
@@ -117,7 +113,6 @@ public class UserResource {
             throw new EmailAlreadyUsedException();
         } else {
             User newUser = userService.createUser(userDTO);
-            mailService.sendCreationEmail(newUser);
             return ResponseEntity.created(new URI("/api/admin/users/" + newUser.getLogin()))
                 .headers(HeaderUtil.createAlert(applicationName, "userManagement.created", newUser.getLogin()))
                 .body(newUser);
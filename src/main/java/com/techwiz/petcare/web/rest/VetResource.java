@@ -0,0 +1,45 @@
+package com.techwiz.petcare.web.rest;
+
+import com.techwiz.petcare.service.VetScheduleIndex;
+import com.techwiz.petcare.service.dto.AppointmentDTO;
+import com.techwiz.petcare.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the read models of vets.
+ */
+@RestController
+@RequestMapping("/api/vets")
+public class VetResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VetResource.class);
+
+    private final VetScheduleIndex vetScheduleIndex;
+
+    public VetResource(VetScheduleIndex vetScheduleIndex) {
+        this.vetScheduleIndex = vetScheduleIndex;
+    }
+
+    /**
+     * {@code GET  /vets/:id/schedule?date=} : get the schedule of the "id" vet for a day.
+     *
+     * @param id the id of the vet.
+     * @param date the day, in the {@code application.appointment.schedule-time-zone} time zone.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the appointments of the vet that day in body,
+     * ordered by time, or with status {@code 400 (Bad Request)} if the day is further from today than the
+     * {@code application.appointment.schedule-horizon}.
+     */
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<List<AppointmentDTO>> getVetSchedule(@PathVariable("id") Long id, @RequestParam("date") LocalDate date) {
+        LOG.debug("REST request to get the schedule of Vet : {} on {}", id, date);
+        if (!vetScheduleIndex.isWithinHorizon(date)) {
+            throw new BadRequestAlertException("The date is outside the schedule horizon", "vet", "dateoutofrange");
+        }
+        return ResponseEntity.ok().body(vetScheduleIndex.getSchedule(id, date));
+    }
+}
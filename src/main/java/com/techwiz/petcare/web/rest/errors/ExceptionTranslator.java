@@ -2,6 +2,8 @@ package com.techwiz.petcare.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.techwiz.petcare.security.LoginThrottledException;
+import com.techwiz.petcare.security.LoginUnavailableException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
 import java.util.Arrays;
@@ -95,6 +97,12 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (
             ex instanceof com.techwiz.petcare.service.InvalidPasswordException
         ) return (ProblemDetailWithCause) new InvalidPasswordException().getBody();
+        if (
+            ex instanceof com.techwiz.petcare.service.VetUnavailableException
+        ) return (ProblemDetailWithCause) new VetUnavailableException().getBody();
+        if (
+            ex instanceof com.techwiz.petcare.service.InvalidCursorException
+        ) return (ProblemDetailWithCause) new BadRequestAlertException(ex.getMessage(), "cursor", "cursorinvalid").getBody();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
@@ -194,6 +202,10 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             return ErrorConstants.ERR_VALIDATION;
         } else if (err instanceof ConcurrencyFailureException || err.getCause() instanceof ConcurrencyFailureException) {
             return ErrorConstants.ERR_CONCURRENCY_FAILURE;
+        } else if (err instanceof LoginThrottledException) {
+            return ErrorConstants.ERR_LOGIN_THROTTLED;
+        } else if (err instanceof LoginUnavailableException) {
+            return ErrorConstants.ERR_LOGIN_UNAVAILABLE;
         }
         return null;
     }
@@ -218,6 +230,8 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (err instanceof LoginThrottledException) return HttpStatus.TOO_MANY_REQUESTS;
+        if (err instanceof LoginUnavailableException) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
@@ -227,6 +241,16 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (err instanceof LoginThrottledException loginThrottledException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottledException.getRetryAfterSeconds()));
+            return headers;
+        }
+        if (err instanceof LoginUnavailableException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
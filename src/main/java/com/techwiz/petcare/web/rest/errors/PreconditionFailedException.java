@@ -0,0 +1,29 @@
+package com.techwiz.petcare.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+/**
+ * This exception is thrown when the {@code If-Match} precondition of a conditional update does not hold, the entity having
+ * been modified since the client read it.
+ */
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class PreconditionFailedException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String entityName, Throwable cause) {
+        super(
+            HttpStatus.PRECONDITION_FAILED,
+            ProblemDetailWithCauseBuilder.instance()
+                .withStatus(HttpStatus.PRECONDITION_FAILED.value())
+                .withType(ErrorConstants.DEFAULT_TYPE)
+                .withTitle("The " + entityName + " was modified since it was read")
+                .withProperty("message", ErrorConstants.ERR_VERSION_CONFLICT)
+                .withProperty("params", entityName)
+                .build(),
+            cause
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.techwiz.petcare.web.rest.errors;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class VetUnavailableException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VetUnavailableException() {
+        super(ErrorConstants.VET_UNAVAILABLE_TYPE, "The vet already has an appointment at this time!", "appointment", "vetunavailable");
+    }
+}
@@ -0,0 +1,42 @@
+package com.techwiz.petcare.web.rest.util;
+
+import com.techwiz.petcare.service.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil}, no total count is available: only the link to the next page is
+ * generated, following the GitHub API <a href="https://developer.github.com/v3/#pagination">pagination</a> format.
+ */
+public final class CursorPaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String CURSOR_PARAM = "cursor";
+
+    private CursorPaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a {@link CursorPage}.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param page The page.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateCursorPaginationHttpHeaders(UriComponentsBuilder uriBuilder, CursorPage<T> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            headers.add(NEXT_CURSOR_HEADER, page.nextCursor());
+            String link = uriBuilder
+                .replaceQueryParam(CURSOR_PARAM, page.nextCursor())
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
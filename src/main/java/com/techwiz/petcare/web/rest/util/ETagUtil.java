@@ -0,0 +1,112 @@
+package com.techwiz.petcare.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for the entity tags of the REST resources, letting clients revalidate the responses they keep with
+ * {@code If-None-Match} and get a {@code 304 (Not Modified)} without a body when nothing changed, and make their updates
+ * conditional on the version they read with {@code If-Match}.
+ * <p>
+ * The tag of an entity is strong, made of its id and version. The tag of a list is weak, as it is derived from the ids
+ * and versions of the listed entities rather than from the exact bytes of the response.
+ */
+public final class ETagUtil {
+
+    private static final int LIST_TAG_BYTES = 12;
+
+    private ETagUtil() {}
+
+    /**
+     * Generate the ETag of an entity.
+     *
+     * @param id the id of the entity.
+     * @param version the version of the entity.
+     * @return the strong ETag.
+     */
+    public static String entityTag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Generate the ETag of a list of entities.
+     *
+     * @param content the entities listed.
+     * @param id the id of an entity.
+     * @param version the version of an entity.
+     * @param extras the other values sent with the list, such as the total count or the next cursor.
+     * @param <T> The type of object.
+     * @return the weak ETag.
+     */
+    public static <T> String listTag(List<T> content, Function<T, Long> id, Function<T, Long> version, Object... extras) {
+        MessageDigest digest = sha256();
+        for (T item : content) {
+            digest.update((id.apply(item) + ":" + version.apply(item) + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(Arrays.toString(extras).getBytes(StandardCharsets.UTF_8));
+        byte[] hash = Arrays.copyOf(digest.digest(), LIST_TAG_BYTES);
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * Check whether an {@code If-Match} header is {@code *}, which any current version of an entity matches.
+     *
+     * @param ifMatch the value of the {@code If-Match} header.
+     * @return whether the header is {@code *}.
+     */
+    public static boolean isWildcard(String ifMatch) {
+        return "*".equals(ifMatch.trim());
+    }
+
+    /**
+     * Get the version of an entity named by an {@code If-Match} header. The header requires a strong comparison, so weak
+     * tags are ignored; when it lists several tags of the entity, the first one is used.
+     *
+     * @param id the id of the entity.
+     * @param ifMatch the value of the {@code If-Match} header.
+     * @return the version, or empty if the header names no version of the entity.
+     */
+    public static Optional<Long> ifMatchVersion(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith(prefix) && trimmed.endsWith("\"") && trimmed.length() > prefix.length() + 1) {
+                try {
+                    return Optional.of(Long.valueOf(trimmed.substring(prefix.length(), trimmed.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not one of our tags, it cannot match
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Generate the headers of a response that the client may keep, and must revalidate before each use.
+     *
+     * @param eTag the ETag of the response.
+     * @return http header.
+     */
+    public static HttpHeaders generateETagHttpHeaders(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        return headers;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
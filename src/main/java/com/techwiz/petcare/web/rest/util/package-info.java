@@ -0,0 +1,4 @@
+/**
+ * Rest layer utilities.
+ */
+package com.techwiz.petcare.web.rest.util;